@@ -0,0 +1,93 @@
+package com.todo.rails.elite.solution.benchmark;
+
+import com.todo.rails.elite.solution.service.DashboardService;
+import com.todo.rails.elite.solution.service.TaskChangeTracker;
+import com.todo.rails.elite.solution.service.TaskCounterService;
+import com.todo.rails.elite.solution.service.TaskSearchIndex;
+import com.todo.rails.elite.solution.service.TaskService;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Minimal Spring context for benchmarks: JPA on an in-memory H2 database and the
+ * services under test, without the web layer, security or caching.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("com.todo.rails.elite.solution.model")
+@EnableJpaRepositories("com.todo.rails.elite.solution.repository")
+@Import({TaskService.class, TaskChangeTracker.class, TaskSearchIndex.class, TaskCounterService.class, DashboardService.class})
+public class BenchmarkApplication {
+
+	private static final int INSERT_BATCH_SIZE = 10_000;
+
+	/**
+	 * The id of the user who owns every inserted task.
+	 */
+	public static final long OWNER_ID = 1L;
+
+	/**
+	 * Starts a context backed by a fresh H2 database.
+	 *
+	 * @return the running context; close it in the benchmark's tear-down.
+	 */
+	public static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(BenchmarkApplication.class)
+				.web(WebApplicationType.NONE)
+				// passed as arguments so they take precedence over application.properties
+				.run(
+						"--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+						"--spring.datasource.driver-class-name=org.h2.Driver",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.jpa.hibernate.ddl-auto=create",
+						"--spring.threads.virtual.enabled=false",
+						"--logging.level.root=WARN"
+				);
+	}
+
+	/**
+	 * Inserts one user and their tasks directly over JDBC.
+	 *
+	 * <p>Every other task is completed and due dates spread over 60 days around
+	 * today, so roughly half the tasks are pending and 1 in 120 is pending today.</p>
+	 *
+	 * @param context   the running context.
+	 * @param taskCount the number of tasks to insert.
+	 */
+	public static void populate(ConfigurableApplicationContext context, int taskCount) {
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		LocalDate today = LocalDate.now();
+		jdbcTemplate.update(
+				"INSERT INTO users (id, username, password, email, roles) VALUES (?, ?, ?, ?, ?)",
+				OWNER_ID, "benchmark", "unused", "benchmark@example.com", "USER"
+		);
+		List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+		for (int i = 1; i <= taskCount; i++) {
+			batch.add(new Object[]{
+					(long) i, OWNER_ID, "Task " + i, "Benchmark task " + i, i % 2 == 0, today.plusDays(i % 60 - 30)
+			});
+			if (batch.size() == INSERT_BATCH_SIZE || i == taskCount) {
+				jdbcTemplate.batchUpdate(
+						"INSERT INTO tasks (id, user_id, title, description, completed, due_date) VALUES (?, ?, ?, ?, ?, ?)",
+						batch
+				);
+				batch.clear();
+			}
+		}
+		// the rows were inserted around the services, so count them like the nightly job would
+		context.getBean(TaskCounterService.class).reconcile();
+	}
+}
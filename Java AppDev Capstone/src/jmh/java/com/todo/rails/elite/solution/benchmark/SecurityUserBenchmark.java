@@ -0,0 +1,48 @@
+package com.todo.rails.elite.solution.benchmark;
+
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures building a {@link SecurityUser}, which parses the roles, and reading its authorities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityUserBenchmark {
+
+	@Param({"1", "5", "20"})
+	private int roleCount;
+
+	private User user;
+	private SecurityUser securityUser;
+
+	@Setup
+	public void setUp() {
+		String roles = IntStream.range(0, roleCount)
+				.mapToObj(i -> "ROLE_" + i)
+				.collect(Collectors.joining(","));
+		user = new User("benchmark", "{noop}secret", "benchmark@example.com", roles);
+		securityUser = new SecurityUser(user);
+	}
+
+	@Benchmark
+	public Collection<? extends GrantedAuthority> createAndGetAuthorities() {
+		return new SecurityUser(user).getAuthorities();
+	}
+
+	@Benchmark
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return securityUser.getAuthorities();
+	}
+}
@@ -0,0 +1,58 @@
+package com.todo.rails.elite.solution.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures Jackson serialization of task lists, configured like the application's {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int taskCount;
+
+	private ObjectMapper objectMapper;
+	private List<Task> tasks;
+	private List<TaskSummary> summaries;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		LocalDate today = LocalDate.now();
+		tasks = LongStream.rangeClosed(1, taskCount)
+				.mapToObj(i -> {
+					Task task = new Task("Task " + i, "Benchmark task " + i, i % 2 == 0, today.plusDays(i % 60));
+					task.setId(i);
+					return task;
+				})
+				.toList();
+		summaries = tasks.stream()
+				.map(task -> new TaskSummary(task.getId(), task.getTitle(), task.isCompleted(), task.getDueDate()))
+				.toList();
+	}
+
+	@Benchmark
+	public byte[] writeTaskList() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(tasks);
+	}
+
+	@Benchmark
+	public byte[] writeSummaryList() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(summaries);
+	}
+}
@@ -0,0 +1,75 @@
+package com.todo.rails.elite.solution.benchmark;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.Dashboard;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import com.todo.rails.elite.solution.service.DashboardService;
+import com.todo.rails.elite.solution.service.TaskSearchIndex;
+import com.todo.rails.elite.solution.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the task filters used by the dashboard and task list, the dashboard itself, and the task search, against H2.
+ *
+ * <p>Add {@code -prof gc} to the JMH arguments to compare the allocation per call.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskServiceBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	private int taskCount;
+
+	private ConfigurableApplicationContext context;
+	private TaskService taskService;
+	private DashboardService dashboardService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start();
+		BenchmarkApplication.populate(context, taskCount);
+		taskService = context.getBean(TaskService.class);
+		dashboardService = context.getBean(DashboardService.class);
+		// the index was built at startup, before the tasks were inserted
+		context.getBean(TaskSearchIndex.class).rebuild();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<TaskSummary> getPendingTasks() {
+		return taskService.getPendingTasks(BenchmarkApplication.OWNER_ID);
+	}
+
+	@Benchmark
+	public List<TaskSummary> getTodayTasks() {
+		return taskService.getTodayTasks(BenchmarkApplication.OWNER_ID);
+	}
+
+	@Benchmark
+	public Dashboard getDashboard() {
+		return dashboardService.getDashboard(BenchmarkApplication.OWNER_ID);
+	}
+
+	@Benchmark
+	public TaskPage<Task> getTaskPage() {
+		return taskService.getTaskPage(BenchmarkApplication.OWNER_ID, null, 50);
+	}
+
+	@Benchmark
+	public List<TaskSummary> searchTasks() {
+		return taskService.searchTasks(BenchmarkApplication.OWNER_ID, "bench tas", 20);
+	}
+}
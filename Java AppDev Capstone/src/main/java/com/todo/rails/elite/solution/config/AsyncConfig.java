@@ -0,0 +1,42 @@
+package com.todo.rails.elite.solution.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Enables {@code @Async} methods and {@code @Scheduled} jobs.
+ *
+ * <p>Both run on the executors auto-configured by Spring Boot, which follow
+ * {@code spring.threads.virtual.enabled}: with virtual threads on, every async
+ * call and scheduled run gets its own virtual thread, bounded by
+ * {@code spring.task.execution.simple.concurrency-limit}; with it off, they use
+ * the usual fixed platform-thread pools.</p>
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+	/**
+	 * Keeps beans with {@code @Scheduled} methods eager under {@code spring.main.lazy-initialization}.
+	 *
+	 * <p>Jobs are registered when their bean is created, so a lazy bean that nothing
+	 * else uses would never run its jobs.</p>
+	 *
+	 * @return the filter that excludes such beans from lazy initialization.
+	 */
+	@Bean
+	static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+		return (beanName, beanDefinition, beanType) -> !MethodIntrospector.selectMethods(
+				beanType,
+				(MethodIntrospector.MetadataLookup<Scheduled>) method ->
+						AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)
+		).isEmpty();
+	}
+}
@@ -0,0 +1,55 @@
+package com.todo.rails.elite.solution.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's caching annotations.
+ *
+ * <p>The task caches are Caffeine caches created by Spring Boot from the
+ * {@code spring.cache.*} properties, which set their size bound, TTL and
+ * statistics recording. Caches that need their own bounds are registered
+ * here. Hit, miss and eviction counts are published as {@code cache.*}
+ * metrics through the actuator.</p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	/**
+	 * Cache of {@link com.todo.rails.elite.solution.model.Task} objects keyed by id.
+	 */
+	public static final String TASKS_BY_ID = "tasksById";
+
+	/**
+	 * Cache of {@link com.todo.rails.elite.solution.model.Task} objects keyed by title.
+	 */
+	public static final String TASKS_BY_TITLE = "tasksByTitle";
+
+	/**
+	 * Cache of {@link org.springframework.security.core.userdetails.UserDetails} keyed by username.
+	 */
+	public static final String USER_DETAILS = "userDetails";
+
+	/**
+	 * Registers the user details cache with its own, shorter-lived Caffeine spec.
+	 *
+	 * @param userDetailsSpec the Caffeine spec for {@link #USER_DETAILS}.
+	 * @return a customizer that adds the cache to the {@link CaffeineCacheManager}.
+	 */
+	@Bean
+	CacheManagerCustomizer<CaffeineCacheManager> userDetailsCacheCustomizer(
+			@Value("${app.cache.user-details.spec:maximumSize=10000,expireAfterWrite=5m,recordStats}")
+			String userDetailsSpec
+	) {
+		return cacheManager -> cacheManager.registerCustomCache(
+				USER_DETAILS,
+				Caffeine.from(userDetailsSpec).build()
+		);
+	}
+}
@@ -0,0 +1,75 @@
+package com.todo.rails.elite.solution.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps the primary pin of a browser in a cookie holding its expiry time.
+ *
+ * <p>The browser sends the cookie with each of its requests, so every node sees
+ * the pin at once, without shared state on the server and regardless of how
+ * long other nodes cache the session. Later transactions of the request that
+ * wrote see the pin through a request attribute. A client that forges the cookie
+ * only sends its own reads to the primary.</p>
+ */
+public class CookiePrimaryPin implements PrimaryPin {
+
+	public static final String COOKIE_NAME = "PRIMARY_PIN";
+
+	private static final String REQUEST_ATTRIBUTE = CookiePrimaryPin.class.getName();
+
+	@Override
+	public Instant pinnedUntil() {
+		if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+			return null;
+		}
+		if (attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Instant until) {
+			return until;
+		}
+		Cookie[] cookies = attributes.getRequest().getCookies();
+		if (cookies == null) {
+			return null;
+		}
+		for (Cookie cookie : cookies) {
+			if (COOKIE_NAME.equals(cookie.getName())) {
+				try {
+					return Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+				} catch (NumberFormatException exception) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void pinUntil(Instant until) {
+		if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+			return;
+		}
+		HttpServletRequest request = attributes.getRequest();
+		boolean cookieSet = request.getAttribute(REQUEST_ATTRIBUTE) != null;
+		request.setAttribute(REQUEST_ATTRIBUTE, until);
+		HttpServletResponse response = attributes.getResponse();
+		// one cookie per response; a later write of the same request extends it by milliseconds at most
+		if (cookieSet || response == null || response.isCommitted()) {
+			return;
+		}
+		ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, String.valueOf(until.toEpochMilli()))
+				.path("/")
+				.httpOnly(true)
+				.sameSite("Lax")
+				.maxAge(Duration.between(Instant.now(), until).plusSeconds(1))
+				.build();
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+	}
+}
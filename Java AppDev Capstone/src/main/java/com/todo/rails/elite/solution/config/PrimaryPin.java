@@ -0,0 +1,26 @@
+package com.todo.rails.elite.solution.config;
+
+import java.time.Instant;
+
+/**
+ * Where {@link ReplicaRoutingDataSource} keeps the time until which the current client reads from the primary.
+ *
+ * <p>The pin must be visible to every node that may serve the client's next
+ * request, not only to the node that took the write.</p>
+ */
+public interface PrimaryPin {
+
+	/**
+	 * Returns the pin of the client on the current thread.
+	 *
+	 * @return the time until which the client reads from the primary, or {@code null} if it is not pinned.
+	 */
+	Instant pinnedUntil();
+
+	/**
+	 * Pins the client on the current thread to the primary; does nothing without a client.
+	 *
+	 * @param until the time until which the client reads from the primary.
+	 */
+	void pinUntil(Instant until);
+}
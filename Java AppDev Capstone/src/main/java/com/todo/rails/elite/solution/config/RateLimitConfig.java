@@ -0,0 +1,65 @@
+package com.todo.rails.elite.solution.config;
+
+import com.todo.rails.elite.solution.filter.ApiAdmissionFilter;
+import com.todo.rails.elite.solution.filter.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Registers admission control for the task API.
+ *
+ * <p>The {@link ApiAdmissionFilter} runs right after the Spring Security filter
+ * chain, so requests are limited per signed-in user, and only on
+ * {@code /api/tasks/*}. Set {@code app.rate-limit.enabled=false} to turn it off.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+	/**
+	 * Creates the admission filter and its registration.
+	 *
+	 * @param meterRegistry      the registry for the rejection and in-flight metrics.
+	 * @param requestsPerSecond  the sustained request rate allowed per client.
+	 * @param burst              the number of requests a client may make at once after being idle.
+	 * @param maxClients         the maximum number of clients tracked at once.
+	 * @param readConcurrency    the maximum number of concurrent reads.
+	 * @param writeConcurrency   the maximum number of concurrent writes.
+	 * @param exportConcurrency  the maximum number of concurrent exports.
+	 * @param eventsConcurrency  the maximum number of open event streams.
+	 * @return the {@link FilterRegistrationBean} for the {@link ApiAdmissionFilter}.
+	 */
+	@Bean
+	FilterRegistrationBean<ApiAdmissionFilter> apiAdmissionFilter(
+			MeterRegistry meterRegistry,
+			@Value("${app.rate-limit.requests-per-second:20}") double requestsPerSecond,
+			@Value("${app.rate-limit.burst:40}") int burst,
+			@Value("${app.rate-limit.max-clients:100000}") long maxClients,
+			@Value("${app.rate-limit.concurrency.read:40}") int readConcurrency,
+			@Value("${app.rate-limit.concurrency.write:20}") int writeConcurrency,
+			@Value("${app.rate-limit.concurrency.export:4}") int exportConcurrency,
+			@Value("${app.rate-limit.concurrency.events:1000}") int eventsConcurrency
+	) {
+		ApiAdmissionFilter filter = new ApiAdmissionFilter(
+				new TokenBucketRateLimiter(requestsPerSecond, burst, maxClients),
+				Map.of(
+						ApiAdmissionFilter.READ, readConcurrency,
+						ApiAdmissionFilter.WRITE, writeConcurrency,
+						ApiAdmissionFilter.EXPORT, exportConcurrency,
+						ApiAdmissionFilter.EVENTS, eventsConcurrency
+				),
+				meterRegistry
+		);
+		FilterRegistrationBean<ApiAdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+		registration.addUrlPatterns("/api/tasks/*");
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+		return registration;
+	}
+}
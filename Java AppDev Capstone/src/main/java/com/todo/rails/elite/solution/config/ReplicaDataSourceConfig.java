@@ -0,0 +1,134 @@
+package com.todo.rails.elite.solution.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Splits reads and writes between the primary database and its read replicas.
+ *
+ * <p>Active only when {@code app.datasource.replica.urls} lists at least one
+ * replica; otherwise Spring Boot configures the single {@code spring.datasource}
+ * as before. The primary keeps the {@code spring.datasource.*} settings, and
+ * each replica gets a pool of the same size that connects with the primary's
+ * credentials unless {@code app.datasource.replica.username} and
+ * {@code app.datasource.replica.password} are set.</p>
+ *
+ * <p>JPA and {@code JdbcTemplate} use the {@link ReplicaRoutingDataSource}
+ * behind a {@link LazyConnectionDataSourceProxy}, which is the primary
+ * {@link DataSource} bean.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "urls")
+public class ReplicaDataSourceConfig {
+
+	/**
+	 * The pool of the primary, configured from {@code spring.datasource.*}.
+	 *
+	 * @param properties the {@code spring.datasource} properties.
+	 * @return the primary {@link HikariDataSource}.
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	/**
+	 * The router over the primary and one read-only pool per replica.
+	 *
+	 * @param primaryDataSource the primary pool.
+	 * @param properties        the {@code spring.datasource} properties, for the driver and default credentials.
+	 * @param urls              the JDBC URLs of the replicas.
+	 * @param username          the replica user, or empty to use the primary's.
+	 * @param password          the replica password, or empty to use the primary's.
+	 * @param pinWindow         how long a client's reads stay on the primary after its own write.
+	 * @return the {@link ReplicaRoutingDataSource}.
+	 */
+	@Bean
+	ReplicaRoutingDataSource replicaRoutingDataSource(
+			HikariDataSource primaryDataSource,
+			DataSourceProperties properties,
+			@Value("${app.datasource.replica.urls}") List<String> urls,
+			@Value("${app.datasource.replica.username:}") String username,
+			@Value("${app.datasource.replica.password:}") String password,
+			@Value("${app.datasource.replica.pin-after-write:10s}") Duration pinWindow
+	) {
+		List<DataSource> replicas = new ArrayList<>();
+		for (int i = 0; i < urls.size(); i++) {
+			HikariDataSource replica = properties.initializeDataSourceBuilder()
+					.type(HikariDataSource.class)
+					.url(urls.get(i))
+					.username(username.isEmpty() ? properties.determineUsername() : username)
+					.password(password.isEmpty() ? properties.determinePassword() : password)
+					.build();
+			replica.setPoolName(ReplicaRoutingDataSource.replicaKey(i));
+			replica.setReadOnly(true);
+			replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+			replica.setMinimumIdle(primaryDataSource.getMinimumIdle());
+			replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+			replicas.add(replica);
+		}
+		return new ReplicaRoutingDataSource(primaryDataSource, replicas, pinWindow, new CookiePrimaryPin());
+	}
+
+	/**
+	 * The {@link DataSource} used by JPA and JDBC, which picks the target at the first statement of a transaction.
+	 *
+	 * @param replicaRoutingDataSource the router.
+	 * @return the lazy proxy around the router.
+	 */
+	@Bean
+	@Primary
+	DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+	/**
+	 * Exposes the request to the threads that write streamed responses, such as exports,
+	 * so their reads see the client's {@link CookiePrimaryPin}.
+	 *
+	 * @return a configurer that registers the interceptor for asynchronous request processing.
+	 */
+	@Bean
+	WebMvcConfigurer primaryPinAsyncSupport() {
+		return new WebMvcConfigurer() {
+			@Override
+			public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+				configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+					@Override
+					public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+						HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+						if (servletRequest != null) {
+							RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+						}
+					}
+
+					@Override
+					public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+						RequestContextHolder.resetRequestAttributes();
+					}
+				});
+			}
+		};
+	}
+}
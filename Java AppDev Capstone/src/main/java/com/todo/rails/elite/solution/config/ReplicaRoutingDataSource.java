@@ -0,0 +1,130 @@
+package com.todo.rails.elite.solution.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ *
+ * <p>A connection goes to a replica, chosen round-robin, only if it is taken
+ * inside a {@code @Transactional(readOnly = true)} transaction. Writes, plain
+ * read-write transactions and work outside any transaction use the primary.
+ * The router must be wrapped in a {@link LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for its connection before the read-only flag of the
+ * new transaction is visible, and the proxy defers the choice to the first
+ * statement.</p>
+ *
+ * <p>Replicas lag behind the primary. To let clients read their own writes, the
+ * client of every committed read-write transaction is pinned to the primary for
+ * the given window, and its read-only transactions use the primary too until
+ * it has passed. Other clients keep reading from the replicas. The pins are
+ * kept by a {@link PrimaryPin}, which makes them visible to every node.</p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	static final String PRIMARY = "primary";
+
+	private final List<DataSource> replicas;
+
+	private final Duration pinWindow;
+
+	private final PrimaryPin primaryPin;
+
+	private final InstantSource clock;
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	/**
+	 * Constructor for ReplicaRoutingDataSource.
+	 *
+	 * @param primary     the {@link DataSource} of the primary, used for all writes.
+	 * @param replicas    the {@link DataSource}s of the replicas; closed together with the router.
+	 * @param pinWindow   how long a client's reads stay on the primary after its last write.
+	 * @param primaryPin  keeps the pin of the client on the current thread.
+	 */
+	public ReplicaRoutingDataSource(
+			DataSource primary,
+			List<DataSource> replicas,
+			Duration pinWindow,
+			PrimaryPin primaryPin
+	) {
+		this(primary, replicas, pinWindow, primaryPin, InstantSource.system());
+	}
+
+	ReplicaRoutingDataSource(
+			DataSource primary,
+			List<DataSource> replicas,
+			Duration pinWindow,
+			PrimaryPin primaryPin,
+			InstantSource clock
+	) {
+		if (replicas.isEmpty()) {
+			throw new IllegalArgumentException("At least one replica is required");
+		}
+		this.replicas = List.copyOf(replicas);
+		this.pinWindow = pinWindow;
+		this.primaryPin = primaryPin;
+		this.clock = clock;
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < this.replicas.size(); i++) {
+			targets.put(replicaKey(i), this.replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return PRIMARY;
+		}
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new PinOnCommit());
+			}
+			return PRIMARY;
+		}
+		Instant pinnedUntil = primaryPin.pinnedUntil();
+		if (pinnedUntil != null && pinnedUntil.isAfter(clock.instant())) {
+			return PRIMARY;
+		}
+		return replicaKey(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+	}
+
+	/**
+	 * Closes the replica pools. The primary is a bean of its own and closed by the container.
+	 */
+	@Override
+	public void close() throws Exception {
+		for (DataSource replica : replicas) {
+			if (replica instanceof AutoCloseable closeable) {
+				closeable.close();
+			}
+		}
+	}
+
+	static String replicaKey(int index) {
+		return "replica-" + index;
+	}
+
+	private final class PinOnCommit implements TransactionSynchronization {
+
+		@Override
+		public void afterCommit() {
+			primaryPin.pinUntil(clock.instant().plus(pinWindow));
+		}
+	}
+}
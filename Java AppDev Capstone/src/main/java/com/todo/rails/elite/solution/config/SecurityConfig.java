@@ -1,8 +1,13 @@
 package com.todo.rails.elite.solution.config;
 
+import com.todo.rails.elite.solution.service.security.JpaUserDetailsPasswordService;
+import com.todo.rails.elite.solution.service.security.PasswordUpgradingAuthenticationProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -23,8 +28,12 @@ import org.springframework.web.filter.HiddenHttpMethodFilter;
  * <ul>
  *   <li><strong>SecurityFilterChain:</strong> Configures which resources are publicly accessible,
  *       sets up custom login and logout pages, and enforces authentication for restricted URLs.</li>
+ *   <li><strong>Actuator SecurityFilterChain:</strong> Keeps health checks public and restricts
+ *       metrics to users with the metrics role, over HTTP Basic.</li>
  *   <li><strong>Password Encoder:</strong> Provides a {@link BCryptPasswordEncoder}
  *       to securely hash user passwords with configurable strength.</li>
+ *   <li><strong>Authentication Provider:</strong> Authenticates against the database and
+ *       re-hashes passwords in the background when their cost differs from the configured strength.</li>
  *   <li><strong>Hidden HTTP Method Filter:</strong> Enables the use of advanced HTTP methods
  *       in HTML forms, like PUT and DELETE, by translating a hidden field's value into the desired HTTP method.</li>
  * </ul>
@@ -53,6 +62,8 @@ public class SecurityConfig {
 	 *       or similar password encoding mechanisms.</li>
 	 *   <li><strong>Security:</strong> Higher values increase security but require
 	 *       more processing time, making brute-force attacks more difficult.</li>
+	 *   <li><strong>Changing:</strong> Existing hashes are re-hashed with the new value
+	 *       on each user's next successful login, so no password reset is needed.</li>
 	 * </ul>
 	 *
 	 * <p><strong>Note:</strong> Consider adjusting the strength value based on the
@@ -61,11 +72,49 @@ public class SecurityConfig {
 	public static final int PASSWORD_ENCODER_STRENGTH = 4;
 	private final UserDetailsService jpaUserDetailsService;
 
+	/**
+	 * The role a user needs to read actuator endpoints other than health, e.g. the metrics scraper's account.
+	 */
+	public static final String METRICS_ROLE = "METRICS";
+
 	@Autowired
 	public SecurityConfig(UserDetailsService jpaUserDetailsService) {
 		this.jpaUserDetailsService = jpaUserDetailsService;
 	}
 
+	/**
+	 * Secures the actuator endpoints ahead of {@link #securityFilterChain}.
+	 *
+	 * <p>Only {@code /actuator/health} is public, for load balancer checks. Metrics and
+	 * the other endpoints require the {@link #METRICS_ROLE} role and accept HTTP Basic
+	 * credentials, which scrapers such as Prometheus can send; a logged-in user with
+	 * the role can also browse them. Anonymous requests get a {@code 401} instead of
+	 * a redirect to the login page.</p>
+	 *
+	 * @param http                   the {@link HttpSecurity} to configure.
+	 * @param authenticationProvider the provider that checks credentials against the database.
+	 * @return the actuator {@link SecurityFilterChain}.
+	 * @throws Exception if the configuration fails.
+	 */
+	@Bean
+	@Order(1)
+	SecurityFilterChain actuatorFilterChain(
+			HttpSecurity http,
+			DaoAuthenticationProvider authenticationProvider
+	) throws Exception {
+		return http
+				.securityMatcher("/actuator/**")
+				.authorizeHttpRequests(
+						auth -> auth
+								.requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+								.anyRequest().hasAuthority(METRICS_ROLE)
+				)
+				.httpBasic(Customizer.withDefaults())
+				.authenticationProvider(authenticationProvider)
+				.csrf(AbstractHttpConfigurer::disable)
+				.build();
+	}
+
 	/**
 	 * Configures the application's security settings.
 	 *
@@ -100,7 +149,10 @@ public class SecurityConfig {
 	 *                   particularly with regard to CSRF protection.</p>
 	 */
 	@Bean
-	SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+	SecurityFilterChain securityFilterChain(
+			HttpSecurity http,
+			DaoAuthenticationProvider authenticationProvider
+	) throws Exception {
 		return http
 				.authorizeHttpRequests(
 						auth -> auth
@@ -115,9 +167,6 @@ public class SecurityConfig {
 								.requestMatchers("/register").permitAll()
 
 
-								//  permit the /api/tasks/** to all users (NOT RECOMMENDED)
-								.requestMatchers("/api/tasks/**").permitAll()
-
 								//  authenticate all other requests
 								.anyRequest().authenticated()
 				)
@@ -140,12 +189,31 @@ public class SecurityConfig {
 								.deleteCookies("JSESSIONID")
 								.permitAll()
 				)
-				.userDetailsService(jpaUserDetailsService)
+				.authenticationProvider(authenticationProvider)
 				.csrf(AbstractHttpConfigurer::disable)
 				.httpBasic(AbstractHttpConfigurer::disable)
 				.build();
 	}
 
+	/**
+	 * Creates the provider that authenticates form logins against the database.
+	 *
+	 * <p>After a successful login, a stored hash whose BCrypt cost differs from
+	 * {@link #PASSWORD_ENCODER_STRENGTH} is re-hashed asynchronously, without
+	 * delaying the login response.</p>
+	 *
+	 * @param passwordEncoder        the encoder used to check passwords.
+	 * @param passwordUpgradeService the service that re-hashes outdated passwords.
+	 * @return a {@link PasswordUpgradingAuthenticationProvider}.
+	 */
+	@Bean
+	DaoAuthenticationProvider authenticationProvider(
+			BCryptPasswordEncoder passwordEncoder,
+			JpaUserDetailsPasswordService passwordUpgradeService
+	) {
+		return new PasswordUpgradingAuthenticationProvider(jpaUserDetailsService, passwordEncoder, passwordUpgradeService);
+	}
+
 	/**
 	 * Creates and configures a password encoder.
 	 *
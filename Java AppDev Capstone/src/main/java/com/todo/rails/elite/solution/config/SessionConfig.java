@@ -0,0 +1,56 @@
+package com.todo.rails.elite.solution.config;
+
+import com.todo.rails.elite.solution.repository.StoredSessionRepository;
+import com.todo.rails.elite.solution.service.security.DatabaseSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+
+/**
+ * Replaces the servlet container's in-memory sessions with sessions shared through the database.
+ *
+ * <p>Any node can then serve any request, so the load balancer needs no session
+ * affinity and restarting a node logs nobody out. Task state that nodes keep in
+ * memory follows changes made on other nodes through
+ * {@link com.todo.rails.elite.solution.service.TaskChangeBroadcaster}, which
+ * must stay enabled ({@code app.cluster.enabled}) when the load balancer spreads
+ * a user's requests over several nodes. The store is the
+ * {@link DatabaseSessionRepository} bean; another Spring Session repository can
+ * be plugged in by replacing that bean. Set {@code app.session.store=container}
+ * to go back to the container's sessions, e.g. for a single node.</p>
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(prefix = "app.session", name = "store", havingValue = "database", matchIfMissing = true)
+public class SessionConfig {
+
+	/**
+	 * Creates the database-backed session repository.
+	 *
+	 * @param storedSessionRepository the repository for the session rows.
+	 * @param meterRegistry           the registry for the near-cache metrics.
+	 * @param timeout                 the session timeout, as configured for the container.
+	 * @param nearCacheTtl            how long each node serves a session from memory.
+	 * @param touchInterval           how often read-only requests extend a session in the database.
+	 * @param cleanupBatchSize        the number of expired sessions deleted per statement.
+	 * @return the {@link DatabaseSessionRepository}.
+	 */
+	@Bean
+	DatabaseSessionRepository sessionRepository(
+			StoredSessionRepository storedSessionRepository,
+			MeterRegistry meterRegistry,
+			@Value("${server.servlet.session.timeout:30m}") Duration timeout,
+			@Value("${app.session.near-cache-ttl:5s}") Duration nearCacheTtl,
+			@Value("${app.session.touch-interval:1m}") Duration touchInterval,
+			@Value("${app.session.cleanup-batch-size:500}") int cleanupBatchSize
+	) {
+		return new DatabaseSessionRepository(
+				storedSessionRepository, meterRegistry, timeout, nearCacheTtl, touchInterval, cleanupBatchSize
+		);
+	}
+}
@@ -0,0 +1,60 @@
+package com.todo.rails.elite.solution.config;
+
+import com.todo.rails.elite.solution.model.Task;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the task id generator past ids that already exist in the {@code tasks} table.
+ *
+ * <p>Tasks used to get their ids from {@code AUTO_INCREMENT}. The pooled table
+ * generator starts from zero on a fresh {@code id_generator} table, which would
+ * hand out ids that are already taken. This runs once all beans are created (so
+ * Hibernate has already updated the schema) and before the web server starts.</p>
+ */
+@Component
+public class TaskIdGeneratorInitializer implements SmartInitializingSingleton {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskIdGeneratorInitializer.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * The {@link EntityManagerFactory} is only injected so this bean is initialized after the schema update.
+	 */
+	@Autowired
+	public TaskIdGeneratorInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+		if (maxId == null || maxId == 0) {
+			return;
+		}
+		// the pooled optimizer hands out ids above (next_val - allocation size), so this keeps them above maxId
+		long nextValue = maxId + Task.ID_ALLOCATION_SIZE;
+		Integer rows = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM " + Task.ID_GENERATOR_TABLE + " WHERE sequence_name = ?",
+				Integer.class, Task.ID_GENERATOR_KEY
+		);
+		if (rows == null || rows == 0) {
+			jdbcTemplate.update(
+					"INSERT INTO " + Task.ID_GENERATOR_TABLE + " (sequence_name, next_val) VALUES (?, ?)",
+					Task.ID_GENERATOR_KEY, nextValue
+			);
+		} else if (jdbcTemplate.update(
+				"UPDATE " + Task.ID_GENERATOR_TABLE + " SET next_val = ? WHERE sequence_name = ? AND next_val < ?",
+				nextValue, Task.ID_GENERATOR_KEY, nextValue
+		) == 0) {
+			return;
+		}
+		log.info("Advanced task id generator to {} past existing id {}", nextValue, maxId);
+	}
+}
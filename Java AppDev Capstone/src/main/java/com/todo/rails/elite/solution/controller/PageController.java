@@ -1,12 +1,18 @@
 package com.todo.rails.elite.solution.controller;
 
 import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.Dashboard;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.service.DashboardService;
 import com.todo.rails.elite.solution.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.security.Principal;
 import java.time.LocalDate;
@@ -15,21 +21,24 @@ import java.time.LocalDate;
 public class PageController {
 
 	private final TaskService taskService;
+	private final DashboardService dashboardService;
 
 	@Autowired
-	public PageController(TaskService taskService) {
+	public PageController(TaskService taskService, DashboardService dashboardService) {
 		this.taskService = taskService;
+		this.dashboardService = dashboardService;
 	}
 
 	@GetMapping("/")
-	public String getHomePage(Model model, Principal principal) {
-		model.addAttribute("username", principal.getName());
-		model.addAttribute("totalPendingToday", taskService.getTodayTasks().size());
-		model.addAttribute("totalPending", taskService.getPendingTasks().size());
-		model.addAttribute("totalCompleted", taskService.getCompletedTasks().size());
-		model.addAttribute("totalTasks", taskService.getAllTasks());
-		model.addAttribute("todayTasks", taskService.getTodayTasks());
-		model.addAttribute("pendingTasks", taskService.getPendingTasks());
+	public String getHomePage(Model model, @AuthenticationPrincipal SecurityUser user) {
+		Dashboard dashboard = dashboardService.getDashboard(user.getId());
+		model.addAttribute("username", user.getUsername());
+		model.addAttribute("totalPendingToday", dashboard.statistics().pendingToday());
+		model.addAttribute("totalPending", dashboard.statistics().pending());
+		model.addAttribute("totalCompleted", dashboard.statistics().completed());
+		model.addAttribute("totalTasks", dashboard.statistics().total());
+		model.addAttribute("todayTasks", dashboard.todayTasks());
+		model.addAttribute("pendingTasks", dashboard.pendingTasks());
 		return "index";
 	}
 
@@ -39,16 +48,25 @@ public class PageController {
 	}
 
 	@GetMapping("/tasks")
-	public String getTasksPage(Model model, Principal principal) {
-		model.addAttribute("username", principal.getName());
-		model.addAttribute("tasks", taskService.getAllTasks());
+	public String getTasksPage(
+			@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "limit", defaultValue = "50") int limit,
+			Model model,
+			@AuthenticationPrincipal SecurityUser user
+	) {
+		TaskPage<Task> taskPage = taskService.getTaskPage(user.getId(), after, limit);
+		model.addAttribute("username", user.getUsername());
+		model.addAttribute("tasks", taskPage.tasks());
+		model.addAttribute("nextCursor", taskPage.nextCursor());
+		model.addAttribute("limit", limit);
+		model.addAttribute("firstPage", after == null || after.isBlank());
 		return "tasks";
 	}
 
 	@GetMapping("/tasks/view/{id}")
-	public String viewTaskDetails(@PathVariable("id") Long id, Model model, Principal principal) {
-		model.addAttribute("username", principal.getName());
-		model.addAttribute("task", taskService.getTaskById(id));
+	public String viewTaskDetails(@PathVariable("id") Long id, Model model, @AuthenticationPrincipal SecurityUser user) {
+		model.addAttribute("username", user.getUsername());
+		model.addAttribute("task", taskService.getTaskById(user.getId(), id));
 		return "details";
 	}
 
@@ -60,10 +78,10 @@ public class PageController {
 	}
 
 	@GetMapping("/profile")
-	public String getProfilePage(Model model, Principal principal) {
-		if (principal != null) {
-			model.addAttribute("username", principal.getName());
-			model.addAttribute("totalTasks", taskService.getAllTasks().size());
+	public String getProfilePage(Model model, @AuthenticationPrincipal SecurityUser user) {
+		if (user != null) {
+			model.addAttribute("username", user.getUsername());
+			model.addAttribute("totalTasks", taskService.countTasks(user.getId()));
 		}
 		return "profile";
 	}
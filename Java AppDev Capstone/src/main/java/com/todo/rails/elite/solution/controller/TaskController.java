@@ -1,67 +1,192 @@
 package com.todo.rails.elite.solution.controller;
 
 import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskBulkRequest;
+import com.todo.rails.elite.solution.model.dto.TaskBulkResult;
+import com.todo.rails.elite.solution.model.dto.TaskChangeMarker;
+import com.todo.rails.elite.solution.model.dto.TaskImportResult;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.service.TaskChangeTracker;
+import com.todo.rails.elite.solution.service.TaskEventStream;
+import com.todo.rails.elite.solution.service.TaskExportService;
+import com.todo.rails.elite.solution.service.TaskImportService;
 import com.todo.rails.elite.solution.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * REST endpoints for the tasks of the authenticated user.
+ *
+ * <p>Every handler passes the id of the logged-in user to the services, which
+ * only ever read or change that user's tasks.</p>
+ */
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
 	private final TaskService taskService;
+	private final TaskExportService taskExportService;
+	private final TaskImportService taskImportService;
+	private final TaskChangeTracker taskChangeTracker;
+	private final TaskEventStream taskEventStream;
 
 	@Autowired
-	public TaskController(TaskService taskService) {
+	public TaskController(
+			TaskService taskService,
+			TaskExportService taskExportService,
+			TaskImportService taskImportService,
+			TaskChangeTracker taskChangeTracker,
+			TaskEventStream taskEventStream
+	) {
 		this.taskService = taskService;
+		this.taskExportService = taskExportService;
+		this.taskImportService = taskImportService;
+		this.taskChangeTracker = taskChangeTracker;
+		this.taskEventStream = taskEventStream;
 	}
 
 	@GetMapping("/all")
-	public ResponseEntity<List<Task>> getAllTasks() {
+	public ResponseEntity<TaskPage<TaskSummary>> getAllTasks(
+			@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "limit", defaultValue = "50") int limit,
+			@AuthenticationPrincipal SecurityUser user,
+			WebRequest request
+	) {
 		try {
-			return ResponseEntity.ok(taskService.getAllTasks());
+			if (isNotModified(request, user, "all", Instant.EPOCH)) {
+				return null;
+			}
+			return ResponseEntity.ok()
+					.cacheControl(CacheControl.noCache().cachePrivate())
+					.body(taskService.getTaskSummaryPage(user.getId(), after, limit));
+		} catch (IllegalArgumentException exception) {
+			return ResponseEntity.badRequest().build();
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
 		}
 	}
 
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportTasks(
+			@RequestParam(name = "format", defaultValue = "ndjson") String format,
+			@AuthenticationPrincipal SecurityUser user
+	) {
+		TaskExportService.Format exportFormat;
+		try {
+			exportFormat = TaskExportService.Format.from(format);
+		} catch (IllegalArgumentException exception) {
+			return ResponseEntity.badRequest().build();
+		}
+		Long ownerId = user.getId();
+		StreamingResponseBody body = outputStream -> taskExportService.exportTasks(ownerId, exportFormat, outputStream);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+						.filename("tasks." + exportFormat.getExtension())
+						.build()
+						.toString())
+				.body(body);
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<List<TaskSummary>> searchTasks(
+			@RequestParam(name = "q") String query,
+			@RequestParam(name = "limit", defaultValue = "20") int limit,
+			@AuthenticationPrincipal SecurityUser user
+	) {
+		return ResponseEntity.ok(taskService.searchTasks(user.getId(), query, limit));
+	}
+
+	/**
+	 * Streams the user's task changes and dashboard counts as server-sent events.
+	 *
+	 * @see TaskEventStream
+	 */
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamEvents(@AuthenticationPrincipal SecurityUser user) {
+		return taskEventStream.subscribe(user.getId());
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<Task> getTaskById(@PathVariable(name = "id") Long id) {
+	public ResponseEntity<Task> getTaskById(
+			@PathVariable(name = "id") Long id,
+			@AuthenticationPrincipal SecurityUser user,
+			WebRequest request
+	) {
 		try {
-			return ResponseEntity.ok(taskService.getTaskById(id));
+			// served from the task cache, so a revalidation usually runs no query
+			Task task = taskService.getTaskById(user.getId(), id);
+			long lastModified = task.getLastModified() != null ? task.getLastModified().toEpochMilli() : -1;
+			if (request.checkNotModified("\"" + task.getId() + "-" + task.getVersion() + "\"", lastModified)) {
+				return null;
+			}
+			return ResponseEntity.ok()
+					.cacheControl(CacheControl.noCache().cachePrivate())
+					.body(task);
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
 		}
 	}
 
 	@GetMapping("/title/{title}")
-	public ResponseEntity<Task> getTaskByTitle(@PathVariable(name = "title") String title) {
+	public ResponseEntity<Task> getTaskByTitle(@PathVariable(name = "title") String title, @AuthenticationPrincipal SecurityUser user) {
 		try {
-			return ResponseEntity.ok(taskService.getTaskByTitle(title));
+			return ResponseEntity.ok(taskService.getTaskByTitle(user.getId(), title));
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
 		}
 	}
 
 	@RequestMapping(value = "/add", method = RequestMethod.POST)
-	public ModelAndView addTask(@ModelAttribute Task task) {
+	public ModelAndView addTask(@ModelAttribute Task task, @AuthenticationPrincipal SecurityUser user) {
 		try {
-			Task addedTask = taskService.addTask(task);
+			Task addedTask = taskService.addTask(user.getId(), task);
 			return new ModelAndView("redirect:/tasks");
 		} catch (Exception exception) {
 			return new ModelAndView("redirect:/tasks/add", "task", task);
 		}
 	}
 
+	@PostMapping("/import")
+	public ResponseEntity<TaskImportResult> importTasks(@RequestBody List<Task> tasks, @AuthenticationPrincipal SecurityUser user) {
+		try {
+			return ResponseEntity.ok(taskImportService.importTasks(user.getId(), tasks));
+		} catch (IllegalArgumentException exception) {
+			return ResponseEntity.badRequest().build();
+		} catch (DataIntegrityViolationException exception) {
+			if (!TaskService.isDuplicateTitle(exception)) {
+				throw exception;
+			}
+			// a title was added concurrently; nothing was imported
+			return ResponseEntity.status(HttpStatus.CONFLICT).build();
+		}
+	}
+
 	@RequestMapping(value = "/update/{id}", method = RequestMethod.GET)
-	public ModelAndView updateTask(@PathVariable(name = "id") Long id) {
-		Task taskById = taskService.getTaskById(id);
+	public ModelAndView updateTask(@PathVariable(name = "id") Long id, @AuthenticationPrincipal SecurityUser user) {
+		// a copy, since the cached task is shared
+		Task taskById = new Task(taskService.getTaskById(user.getId(), id));
 		if (taskById != null) {
 			taskById.setDueDate(
 					LocalDate.parse(
@@ -78,9 +203,9 @@ public class TaskController {
 	}
 
 	@PostMapping("/update")
-	public ModelAndView updateTask(@ModelAttribute Task task) {
+	public ModelAndView updateTask(@ModelAttribute Task task, @AuthenticationPrincipal SecurityUser user) {
 		try {
-			Task updatedTask = taskService.updateTask(task);
+			Task updatedTask = taskService.updateTask(user.getId(), task);
 			return new ModelAndView("redirect:/tasks", "task", updatedTask);
 		} catch (Exception exception) {
 			throw new RuntimeException("Task not found");
@@ -88,22 +213,39 @@ public class TaskController {
 	}
 
 	@PostMapping("/complete/{id}")
-	public ModelAndView completeTask(@PathVariable Long id) {
+	public ModelAndView completeTask(@PathVariable Long id, @AuthenticationPrincipal SecurityUser user) {
 		try {
-			Task taskById = taskService.getTaskById(id);
-			taskById.setCompleted(true);
-			taskService.updateTask(taskById);
+			Task taskById = taskService.getTaskById(user.getId(), id);
+			taskService.completeTask(user.getId(), taskById);
 			return new ModelAndView("redirect:/");
 		} catch (Exception exception) {
 			return new ModelAndView("redirect:/");
 		}
 	}
 
+	@PostMapping("/bulk/complete")
+	public ResponseEntity<TaskBulkResult> completeTasks(@RequestBody TaskBulkRequest request, @AuthenticationPrincipal SecurityUser user) {
+		try {
+			return ResponseEntity.ok(new TaskBulkResult(taskService.completeTasks(user.getId(), request)));
+		} catch (IllegalArgumentException exception) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	@PostMapping("/bulk/delete")
+	public ResponseEntity<TaskBulkResult> deleteTasks(@RequestBody TaskBulkRequest request, @AuthenticationPrincipal SecurityUser user) {
+		try {
+			return ResponseEntity.ok(new TaskBulkResult(taskService.deleteTasks(user.getId(), request)));
+		} catch (IllegalArgumentException exception) {
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
 	@RequestMapping(value = "/delete/{id}", method = RequestMethod.DELETE)
-	public ModelAndView deleteTask(@PathVariable Long id) {
+	public ModelAndView deleteTask(@PathVariable Long id, @AuthenticationPrincipal SecurityUser user) {
 		try {
-			Task taskById = taskService.getTaskById(id);
-			taskService.deleteTask(taskById);
+			Task taskById = taskService.getTaskById(user.getId(), id);
+			taskService.deleteTask(user.getId(), taskById);
 			return new ModelAndView("redirect:/");
 		} catch (Exception exception) {
 			return new ModelAndView("redirect:/");
@@ -111,29 +253,73 @@ public class TaskController {
 	}
 
 	@GetMapping("/pending")
-	public ResponseEntity<List<Task>> getPendingTasks() {
+	public ResponseEntity<List<TaskSummary>> getPendingTasks(@AuthenticationPrincipal SecurityUser user, WebRequest request) {
 		try {
-			return ResponseEntity.ok(taskService.getPendingTasks());
+			if (isNotModified(request, user, "pending", Instant.EPOCH)) {
+				return null;
+			}
+			return ResponseEntity.ok()
+					.cacheControl(CacheControl.noCache().cachePrivate())
+					.body(taskService.getPendingTasks(user.getId()));
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
 		}
 	}
 
 	@GetMapping("/completed")
-	public ResponseEntity<List<Task>> getCompletedTasks() {
+	public ResponseEntity<List<TaskSummary>> getCompletedTasks(@AuthenticationPrincipal SecurityUser user, WebRequest request) {
 		try {
-			return ResponseEntity.ok(taskService.getCompletedTasks());
+			if (isNotModified(request, user, "completed", Instant.EPOCH)) {
+				return null;
+			}
+			return ResponseEntity.ok()
+					.cacheControl(CacheControl.noCache().cachePrivate())
+					.body(taskService.getCompletedTasks(user.getId()));
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
 		}
 	}
 
 	@GetMapping("/today")
-	public ResponseEntity<List<Task>> getTodayTasks() {
+	public ResponseEntity<List<TaskSummary>> getTodayTasks(@AuthenticationPrincipal SecurityUser user, WebRequest request) {
 		try {
-			return ResponseEntity.ok(taskService.getTodayTasks());
+			// today's tasks also change at midnight without any write
+			LocalDate today = LocalDate.now();
+			Instant startOfToday = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
+			if (isNotModified(request, user, "today-" + today, startOfToday)) {
+				return null;
+			}
+			return ResponseEntity.ok()
+					.cacheControl(CacheControl.noCache().cachePrivate())
+					.body(taskService.getTodayTasks(user.getId()));
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
 		}
 	}
+
+	/**
+	 * Answers a conditional request from the user's change marker, before any task is queried.
+	 *
+	 * <p>On a match the response is already a {@code 304} and the handler should return {@code null};
+	 * otherwise the {@code ETag} and {@code Last-Modified} headers are set for the full response.
+	 * The {@code ETag} includes the user id, so one user's copy never validates as another's.
+	 * Users without a recorded change get neither header, so nothing is validated against a
+	 * marker that does not exist yet.</p>
+	 *
+	 * @param request   the current request.
+	 * @param user      the authenticated user.
+	 * @param scope     distinguishes the representation, so different lists never share an {@code ETag}.
+	 * @param notBefore the earliest {@code Last-Modified} value to report.
+	 * @return {@code true} if the client's copy is current.
+	 */
+	private boolean isNotModified(WebRequest request, SecurityUser user, String scope, Instant notBefore) {
+		Optional<TaskChangeMarker> found = taskChangeTracker.getMarker(user.getId());
+		if (found.isEmpty()) {
+			return false;
+		}
+		TaskChangeMarker marker = found.get();
+		Instant lastModified = marker.lastModified().isAfter(notBefore) ? marker.lastModified() : notBefore;
+		String etag = "\"" + scope + "-" + user.getId() + "-" + marker.version() + "\"";
+		return request.checkNotModified(etag, lastModified.toEpochMilli());
+	}
 }
@@ -1,11 +1,14 @@
 package com.todo.rails.elite.solution.controller;
 
 import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.UserSummary;
 import com.todo.rails.elite.solution.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
@@ -18,9 +21,9 @@ public class UserController {
 	}
 
 	@GetMapping("/all")
-	public ResponseEntity<Iterable<User>> getAllUsers() {
+	public ResponseEntity<List<UserSummary>> getAllUsers() {
 		try {
-			Iterable<User> allUsers = userService.getAllUsers();
+			List<UserSummary> allUsers = userService.getAllUsers();
 			return ResponseEntity.ok(allUsers);
 		} catch (Exception exception) {
 			return ResponseEntity.notFound().build();
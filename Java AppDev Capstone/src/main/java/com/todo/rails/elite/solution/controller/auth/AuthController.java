@@ -1,5 +1,6 @@
 package com.todo.rails.elite.solution.controller.auth;
 
+import com.todo.rails.elite.solution.exception.ServiceOverloadedException;
 import com.todo.rails.elite.solution.model.User;
 import com.todo.rails.elite.solution.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,12 +44,15 @@ public class AuthController {
 	 * @param user User data from the registration form.
 	 * @param viewModel Model for redirect views.
 	 * @return Redirect to login on success, or back to register on failure.
+	 * @throws ServiceOverloadedException if password hashing is saturated; answered with 503.
 	 */
 	@PostMapping
 	public ModelAndView registerUser(@ModelAttribute("user") User user, Model viewModel) {
 		try {
 			userService.addUser(user);
 			return new ModelAndView("redirect:/login");
+		} catch (ServiceOverloadedException ex) {
+			throw ex;
 		} catch (RuntimeException ex) {
 			return new ModelAndView("redirect:/register");
 		}
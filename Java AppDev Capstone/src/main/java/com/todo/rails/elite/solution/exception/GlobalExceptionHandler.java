@@ -1,5 +1,9 @@
 package com.todo.rails.elite.solution.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,9 +12,33 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+	private final MeterRegistry meterRegistry;
+
+	@Autowired
+	public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
 	@ExceptionHandler(RuntimeException.class)
 	public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
+		countException(ex, HttpStatus.BAD_REQUEST);
 		return ResponseEntity.badRequest().body(ex.getMessage());
 	}
-}
 
+	@ExceptionHandler(ServiceOverloadedException.class)
+	public ResponseEntity<String> handleServiceOverloadedException(ServiceOverloadedException ex) {
+		countException(ex, HttpStatus.SERVICE_UNAVAILABLE);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+				.body(ex.getMessage());
+	}
+
+	// count handled exceptions by type and resulting status
+	private void countException(Exception ex, HttpStatus status) {
+		meterRegistry.counter(
+				"app.exceptions",
+				"exception", ex.getClass().getSimpleName(),
+				"status", String.valueOf(status.value())
+		).increment();
+	}
+}
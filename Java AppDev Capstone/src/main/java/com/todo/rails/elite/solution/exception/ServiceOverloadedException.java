@@ -0,0 +1,23 @@
+package com.todo.rails.elite.solution.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a bounded resource cannot accept more work right now.
+ *
+ * <p>{@link GlobalExceptionHandler} turns it into a {@code 503 Service Unavailable}
+ * response with a {@code Retry-After} header.</p>
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+	private final Duration retryAfter;
+
+	public ServiceOverloadedException(String message, Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
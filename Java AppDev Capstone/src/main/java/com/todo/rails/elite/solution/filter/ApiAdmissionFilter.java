@@ -0,0 +1,200 @@
+package com.todo.rails.elite.solution.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the task API: a rate limit per client and a concurrency limit per endpoint group.
+ *
+ * <p>Each request first takes a token from its client's bucket in the
+ * {@link TokenBucketRateLimiter}; the client is the signed-in user, or the
+ * remote address for requests without one. A client out of tokens gets
+ * {@code 429 Too Many Requests} with a {@code Retry-After} for its next token.</p>
+ *
+ * <p>Admitted requests then need a permit of their endpoint group's bulkhead:
+ * {@link #EVENTS} for event streams, {@link #EXPORT} for exports, {@link #WRITE}
+ * for other non-GET requests and {@link #READ} for the rest. Permits are taken
+ * without waiting, so when a group is saturated further requests get
+ * {@code 503 Service Unavailable} at once instead of queueing for threads and
+ * database connections, and the other groups stay available. Asynchronous
+ * responses, such as streamed exports and event streams, keep their permit until
+ * they complete.</p>
+ *
+ * <p>Metrics: {@code app.requests.rejected} counts rejections by {@code group} and
+ * {@code reason} ({@code rate_limit} or {@code concurrency}), and
+ * {@code app.requests.in.flight} reports the permits in use per group.</p>
+ */
+public class ApiAdmissionFilter extends OncePerRequestFilter {
+
+	public static final String READ = "read";
+	public static final String WRITE = "write";
+	public static final String EXPORT = "export";
+	public static final String EVENTS = "events";
+
+	private static final long RETRY_AFTER_OVERLOADED_SECONDS = 1;
+
+	private final TokenBucketRateLimiter rateLimiter;
+	private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
+	/**
+	 * Constructor for ApiAdmissionFilter.
+	 *
+	 * @param rateLimiter       the per-client token buckets.
+	 * @param concurrencyLimits the maximum number of concurrent requests for each of
+	 *                          {@link #READ}, {@link #WRITE}, {@link #EXPORT} and {@link #EVENTS}.
+	 * @param meterRegistry     the registry for the rejection and in-flight metrics.
+	 */
+	public ApiAdmissionFilter(
+			TokenBucketRateLimiter rateLimiter,
+			Map<String, Integer> concurrencyLimits,
+			MeterRegistry meterRegistry
+	) {
+		this.rateLimiter = rateLimiter;
+		for (String group : new String[]{READ, WRITE, EXPORT, EVENTS}) {
+			Integer limit = concurrencyLimits.get(group);
+			if (limit == null) {
+				throw new IllegalArgumentException("No concurrency limit for " + group);
+			}
+			bulkheads.put(group, new Bulkhead(group, limit, meterRegistry));
+		}
+	}
+
+	@Override
+	protected void doFilterInternal(
+			HttpServletRequest request,
+			HttpServletResponse response,
+			FilterChain filterChain
+	) throws ServletException, IOException {
+		Bulkhead bulkhead = bulkheads.get(groupOf(request));
+		long waitNanos = rateLimiter.tryAcquire(clientOf(request));
+		if (waitNanos > 0) {
+			bulkhead.rateLimited.increment();
+			reject(response, HttpStatus.TOO_MANY_REQUESTS, secondsUntil(waitNanos), "Too many requests, try again later");
+			return;
+		}
+		if (!bulkhead.permits.tryAcquire()) {
+			bulkhead.overloaded.increment();
+			reject(response, HttpStatus.SERVICE_UNAVAILABLE, RETRY_AFTER_OVERLOADED_SECONDS, "Server busy, try again later");
+			return;
+		}
+		AtomicBoolean released = new AtomicBoolean();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ReleaseOnComplete(bulkhead, released));
+			} else {
+				bulkhead.release(released);
+			}
+		}
+	}
+
+	private static String groupOf(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (path.startsWith("/api/tasks/events")) {
+			return EVENTS;
+		}
+		if (path.startsWith("/api/tasks/export")) {
+			return EXPORT;
+		}
+		String method = request.getMethod();
+		return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? READ : WRITE;
+	}
+
+	private static String clientOf(HttpServletRequest request) {
+		Principal principal = request.getUserPrincipal();
+		return principal != null ? "user:" + principal.getName() : "address:" + request.getRemoteAddr();
+	}
+
+	private static long secondsUntil(long nanos) {
+		return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+	}
+
+	private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+			throws IOException {
+		response.setStatus(status.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.getWriter().write(message);
+	}
+
+	/**
+	 * The concurrency limit of one endpoint group, with its meters.
+	 */
+	private static final class Bulkhead {
+
+		private final Semaphore permits;
+		private final Counter rateLimited;
+		private final Counter overloaded;
+
+		private Bulkhead(String group, int limit, MeterRegistry meterRegistry) {
+			this.permits = new Semaphore(limit);
+			this.rateLimited = rejections(meterRegistry, group, "rate_limit");
+			this.overloaded = rejections(meterRegistry, group, "concurrency");
+			Gauge.builder("app.requests.in.flight", permits, semaphore -> limit - semaphore.availablePermits())
+					.description("Requests holding a permit of the endpoint group's bulkhead")
+					.tag("group", group)
+					.register(meterRegistry);
+		}
+
+		private static Counter rejections(MeterRegistry meterRegistry, String group, String reason) {
+			return Counter.builder("app.requests.rejected")
+					.description("Requests rejected by admission control")
+					.tag("group", group)
+					.tag("reason", reason)
+					.register(meterRegistry);
+		}
+
+		private void release(AtomicBoolean released) {
+			// the container may report both an error and the completion of one response
+			if (released.compareAndSet(false, true)) {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * Returns the permit of an asynchronous request once its response has completed.
+	 */
+	private record ReleaseOnComplete(Bulkhead bulkhead, AtomicBoolean released) implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			bulkhead.release(released);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			bulkhead.release(released);
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
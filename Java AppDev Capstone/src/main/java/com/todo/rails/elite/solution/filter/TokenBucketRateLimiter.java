@@ -0,0 +1,78 @@
+package com.todo.rails.elite.solution.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by client, refilled at a fixed rate up to a burst capacity.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the time at which it will
+ * be full again (the generic cell rate algorithm). Taking a token is one
+ * compare-and-set, so clients never lock each other out. The buckets live in a
+ * Caffeine map, which spreads them over many independently updated bins; a
+ * bucket untouched for longer than it takes to refill completely is dropped,
+ * since a fresh one behaves the same, and the number of tracked clients is
+ * bounded.</p>
+ */
+public class TokenBucketRateLimiter {
+
+	private final long nanosPerToken;
+	private final long burstNanos;
+	private final long origin;
+	private final Ticker ticker;
+	private final Cache<String, AtomicLong> buckets;
+
+	/**
+	 * Constructor for TokenBucketRateLimiter.
+	 *
+	 * @param tokensPerSecond the rate at which each bucket refills.
+	 * @param burst           the number of tokens a full bucket holds.
+	 * @param maxClients      the maximum number of buckets kept at once.
+	 */
+	public TokenBucketRateLimiter(double tokensPerSecond, int burst, long maxClients) {
+		this(tokensPerSecond, burst, maxClients, Ticker.systemTicker());
+	}
+
+	TokenBucketRateLimiter(double tokensPerSecond, int burst, long maxClients, Ticker ticker) {
+		if (tokensPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("Rate and burst must be positive");
+		}
+		this.nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+		this.burstNanos = nanosPerToken * burst;
+		this.ticker = ticker;
+		// relative to construction, so a new bucket (0) is always full
+		this.origin = ticker.read();
+		this.buckets = Caffeine.newBuilder()
+				.expireAfterAccess(Duration.ofNanos(burstNanos))
+				.maximumSize(maxClients)
+				.ticker(ticker)
+				.build();
+	}
+
+	/**
+	 * Takes a token from the client's bucket if one is available.
+	 *
+	 * @param client the key of the client, e.g. its username.
+	 * @return {@code 0} if a token was taken, otherwise the nanoseconds until one is available.
+	 */
+	public long tryAcquire(String client) {
+		AtomicLong fullAt = buckets.get(client, key -> new AtomicLong());
+		long now = ticker.read() - origin;
+		while (true) {
+			long current = fullAt.get();
+			long next = Math.max(current, now) + nanosPerToken;
+			long wait = next - now - burstNanos;
+			if (wait > 0) {
+				return wait;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+}
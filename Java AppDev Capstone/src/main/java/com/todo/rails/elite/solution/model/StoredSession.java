@@ -0,0 +1,67 @@
+package com.todo.rails.elite.solution.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * An HTTP session kept in the application database, so that any node can serve any request.
+ *
+ * <p>The attributes are stored together as one serialized map. Rows are written
+ * with bulk statements by {@link com.todo.rails.elite.solution.service.security.DatabaseSessionRepository}
+ * and only read as entities.</p>
+ */
+@Entity
+@Table(
+		name = "http_sessions",
+		indexes = @Index(name = "idx_http_sessions_expiry_time", columnList = "expiry_time")
+)
+public class StoredSession {
+
+	@Id
+	@Column(name = "id", length = 64)
+	private String id;
+
+	@Column(name = "creation_time", nullable = false)
+	private Instant creationTime;
+
+	@Column(name = "last_accessed_time", nullable = false)
+	private Instant lastAccessedTime;
+
+	@Column(name = "max_inactive_seconds", nullable = false)
+	private long maxInactiveSeconds;
+
+	@Column(name = "expiry_time", nullable = false)
+	private Instant expiryTime;
+
+	@Lob
+	@Column(name = "attributes", nullable = false)
+	private byte[] attributes;
+
+	public StoredSession() {
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public Instant getCreationTime() {
+		return creationTime;
+	}
+
+	public Instant getLastAccessedTime() {
+		return lastAccessedTime;
+	}
+
+	public long getMaxInactiveSeconds() {
+		return maxInactiveSeconds;
+	}
+
+	public Instant getExpiryTime() {
+		return expiryTime;
+	}
+
+	public byte[] getAttributes() {
+		return attributes;
+	}
+}
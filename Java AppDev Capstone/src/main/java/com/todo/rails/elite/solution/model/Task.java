@@ -1,23 +1,76 @@
 package com.todo.rails.elite.solution.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "tasks")
+@Table(
+		name = "tasks",
+		uniqueConstraints = @UniqueConstraint(name = Task.UNIQUE_TITLE, columnNames = {"user_id", "title"}),
+		indexes = {
+				@Index(name = "idx_tasks_user_completed_due_date", columnList = "user_id, completed, due_date"),
+				@Index(name = "idx_tasks_user_due_date_id", columnList = "user_id, due_date, id")
+		}
+)
 public class Task {
 
+	public static final String UNIQUE_TITLE = "uk_tasks_user_title";
+	public static final String ID_GENERATOR = "task_id_generator";
+	public static final String ID_GENERATOR_TABLE = "id_generator";
+	public static final String ID_GENERATOR_KEY = "tasks";
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	// TODO 17: Add Validation Error Messages
 
+	/**
+	 * Ids are allocated in blocks from the {@code id_generator} table rather than by
+	 * {@code AUTO_INCREMENT}, so Hibernate can batch inserts.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = Task.ID_GENERATOR)
+	@TableGenerator(
+			name = Task.ID_GENERATOR,
+			table = Task.ID_GENERATOR_TABLE,
+			pkColumnName = "sequence_name",
+			valueColumnName = "next_val",
+			pkColumnValue = Task.ID_GENERATOR_KEY,
+			allocationSize = Task.ID_ALLOCATION_SIZE
+	)
 	private Long id;
 
-	@Column(name = "title", unique = true, nullable = false)
+	/**
+	 * Id of the owning user. Every task query filters on it first, so all indexes lead with it.
+	 */
+	@Column(name = "user_id", nullable = false)
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Long ownerId;
+
+	/**
+	 * Declares the foreign key; tasks are written and queried through {@link #ownerId}.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(
+			name = "user_id",
+			insertable = false,
+			updatable = false,
+			foreignKey = @ForeignKey(name = "fk_tasks_user")
+	)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	@JsonIgnore
+	private User owner;
+
+	@Column(name = "title", nullable = false)
 	@NotNull(message = "Title cannot be null")
 	@NotBlank(message = "Title cannot be blank")
 	private String title;
@@ -34,6 +87,19 @@ public class Task {
 	@FutureOrPresent(message = "Due date must be in the present or future")
 	private LocalDate dueDate;
 
+	/**
+	 * Incremented on every change, including bulk updates; used as the task's {@code ETag}.
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	@ColumnDefault("0")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private long version;
+
+	@Column(name = "last_modified")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Instant lastModified;
+
 	public Task() {
 	}
 
@@ -44,6 +110,19 @@ public class Task {
 		this.dueDate = dueDate;
 	}
 
+	/**
+	 * Copies a task, e.g. one served from a cache, so that it can be changed without affecting other readers.
+	 *
+	 * @param task the task to copy.
+	 */
+	public Task(Task task) {
+		this(task.title, task.description, task.completed, task.dueDate);
+		this.id = task.id;
+		this.ownerId = task.ownerId;
+		this.version = task.version;
+		this.lastModified = task.lastModified;
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -52,6 +131,14 @@ public class Task {
 		this.id = id;
 	}
 
+	public Long getOwnerId() {
+		return ownerId;
+	}
+
+	public void setOwnerId(Long ownerId) {
+		this.ownerId = ownerId;
+	}
+
 	public String getTitle() {
 		return title;
 	}
@@ -84,10 +171,25 @@ public class Task {
 		this.dueDate = dueDate;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+	}
+
 	@Override
 	public String toString() {
 		return "Task{" +
 				"id=" + id +
+				", ownerId=" + ownerId +
 				", title='" + title + '\'' +
 				", description='" + description + '\'' +
 				", completed=" + completed +
@@ -0,0 +1,92 @@
+package com.todo.rails.elite.solution.model;
+
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link TaskEvent} as recorded for the other nodes of a cluster.
+ *
+ * <p>Written in the transaction of the change it describes, together with the
+ * id of the node that made it, and read back by
+ * {@link com.todo.rails.elite.solution.service.TaskChangeBroadcaster}. Rows are
+ * deleted once every node has had time to read them.</p>
+ */
+@Entity
+@Table(
+		name = "task_change_log",
+		indexes = @Index(name = "idx_task_change_log_created_at", columnList = "created_at")
+)
+public class TaskChangeLogEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "node_id", nullable = false, length = 36)
+	private String nodeId;
+
+	@Column(name = "user_id", nullable = false)
+	private Long ownerId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "type", nullable = false, length = 16)
+	private TaskEvent.Type type;
+
+	/**
+	 * The task ids of the event, comma-separated.
+	 */
+	@Lob
+	@Column(name = "task_ids", nullable = false)
+	private String taskIds;
+
+	@Column(name = "affected", nullable = false)
+	private int affected;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	public TaskChangeLogEntry() {
+	}
+
+	public TaskChangeLogEntry(String nodeId, TaskEvent event, Instant createdAt) {
+		this.nodeId = nodeId;
+		this.ownerId = event.ownerId();
+		this.type = event.type();
+		this.taskIds = event.ids().stream().map(String::valueOf).collect(Collectors.joining(","));
+		this.affected = event.affected();
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	public Long getOwnerId() {
+		return ownerId;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * Restores the recorded event.
+	 *
+	 * @return the {@link TaskEvent}.
+	 */
+	public TaskEvent toEvent() {
+		List<Long> ids = taskIds.isEmpty()
+				? List.of()
+				: Arrays.stream(taskIds.split(",")).map(Long::valueOf).toList();
+		return new TaskEvent(ownerId, type, ids, affected);
+	}
+}
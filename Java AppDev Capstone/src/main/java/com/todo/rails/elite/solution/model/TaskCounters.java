@@ -0,0 +1,88 @@
+package com.todo.rails.elite.solution.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * The task counts of one user, kept up to date by every task write.
+ *
+ * <p>Writers change the counts with relative updates in the same transaction as
+ * the task rows, so reading them is a primary-key lookup instead of a scan over
+ * the user's tasks. The pending tasks per due date are kept in
+ * {@link TaskDueDateCounter}.</p>
+ *
+ * <p>The row also carries the change marker that the user's task lists derive their
+ * {@code ETag} and {@code Last-Modified} headers from. Writers hold the row's lock
+ * anyway, so bumping it costs no extra lock and never touches other users' rows.</p>
+ */
+@Entity
+@Table(name = "task_counters")
+public class TaskCounters {
+
+	@Id
+	@Column(name = "user_id")
+	private Long ownerId;
+
+	/**
+	 * Declares the foreign key; counters are written and queried through {@link #ownerId}.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(
+			name = "user_id",
+			insertable = false,
+			updatable = false,
+			foreignKey = @ForeignKey(name = "fk_task_counters_user")
+	)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private User owner;
+
+	@Column(name = "total", nullable = false)
+	private long total;
+
+	@Column(name = "pending", nullable = false)
+	private long pending;
+
+	@Column(name = "completed", nullable = false)
+	private long completed;
+
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	private long version;
+
+	/**
+	 * When the user's tasks last changed; {@code null} until the first change is recorded.
+	 */
+	@Column(name = "last_modified")
+	private Instant lastModified;
+
+	public TaskCounters() {
+	}
+
+	public Long getOwnerId() {
+		return ownerId;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public long getPending() {
+		return pending;
+	}
+
+	public long getCompleted() {
+		return completed;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+}
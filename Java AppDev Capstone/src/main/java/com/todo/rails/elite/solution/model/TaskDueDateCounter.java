@@ -0,0 +1,88 @@
+package com.todo.rails.elite.solution.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The number of pending tasks one user has due on one date.
+ *
+ * <p>Maintained together with {@link TaskCounters}. Only dates with pending tasks
+ * need a row; a missing row counts as zero.</p>
+ */
+@Entity
+@Table(name = "task_due_date_counters")
+@IdClass(TaskDueDateCounter.Key.class)
+public class TaskDueDateCounter {
+
+	@Id
+	@Column(name = "user_id")
+	private Long ownerId;
+
+	@Id
+	@Column(name = "due_date")
+	private LocalDate dueDate;
+
+	/**
+	 * Declares the foreign key; counters are written and queried through {@link #ownerId}.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(
+			name = "user_id",
+			insertable = false,
+			updatable = false,
+			foreignKey = @ForeignKey(name = "fk_task_due_date_counters_user")
+	)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private User owner;
+
+	@Column(name = "pending", nullable = false)
+	private long pending;
+
+	public TaskDueDateCounter() {
+	}
+
+	public Long getOwnerId() {
+		return ownerId;
+	}
+
+	public LocalDate getDueDate() {
+		return dueDate;
+	}
+
+	public long getPending() {
+		return pending;
+	}
+
+	/**
+	 * The composite primary key of {@link TaskDueDateCounter}.
+	 */
+	public static class Key implements Serializable {
+
+		private Long ownerId;
+
+		private LocalDate dueDate;
+
+		public Key() {
+		}
+
+		public Key(Long ownerId, LocalDate dueDate) {
+			this.ownerId = ownerId;
+			this.dueDate = dueDate;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key key && Objects.equals(ownerId, key.ownerId) && Objects.equals(dueDate, key.dueDate);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(ownerId, dueDate);
+		}
+	}
+}
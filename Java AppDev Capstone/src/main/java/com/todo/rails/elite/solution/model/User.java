@@ -1,10 +1,19 @@
 package com.todo.rails.elite.solution.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
+import java.io.Serial;
+import java.io.Serializable;
+
+// serializable because the signed-in user is kept in the shared session store
 @Entity
 @Table(name = "users")
-public class User {
+public class User implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -12,6 +21,8 @@ public class User {
 	@Column(name = "username", unique = true, nullable = false)
 	private String username;
 
+	// accepted on updates, but never written to responses
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	@Column(name = "password", nullable = false)
 	private String password;
 
@@ -0,0 +1,15 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import com.todo.rails.elite.solution.model.Task;
+
+import java.util.List;
+
+/**
+ * Everything the home page needs to render the dashboard.
+ *
+ * @param statistics   the task counts for the metric cards.
+ * @param todayTasks   a bounded list of pending tasks due today.
+ * @param pendingTasks a bounded list of pending tasks, earliest due date first.
+ */
+public record Dashboard(TaskStatistics statistics, List<Task> todayTasks, List<Task> pendingTasks) {
+}
@@ -0,0 +1,12 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The number of pending tasks due on one date.
+ *
+ * @param dueDate the due date.
+ * @param pending the number of pending tasks due on that date.
+ */
+public record PendingCount(LocalDate dueDate, long pending) {
+}
@@ -0,0 +1,26 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects the tasks affected by a bulk operation. Exactly one selector must be set.
+ *
+ * @param ids             the ids of the tasks.
+ * @param overdue         {@code true} to select pending tasks due before today.
+ * @param completedBefore selects completed tasks due before this date.
+ */
+public record TaskBulkRequest(List<Long> ids, boolean overdue, LocalDate completedBefore) {
+
+	public static TaskBulkRequest ofIds(List<Long> ids) {
+		return new TaskBulkRequest(ids, false, null);
+	}
+
+	public static TaskBulkRequest overdueTasks() {
+		return new TaskBulkRequest(null, true, null);
+	}
+
+	public static TaskBulkRequest completedBefore(LocalDate date) {
+		return new TaskBulkRequest(null, false, date);
+	}
+}
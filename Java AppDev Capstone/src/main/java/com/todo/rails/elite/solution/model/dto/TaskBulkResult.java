@@ -0,0 +1,9 @@
+package com.todo.rails.elite.solution.model.dto;
+
+/**
+ * Outcome of a bulk operation.
+ *
+ * @param affected the number of tasks that were changed or removed.
+ */
+public record TaskBulkResult(int affected) {
+}
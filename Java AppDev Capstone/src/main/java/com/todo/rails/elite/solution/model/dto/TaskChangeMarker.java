@@ -0,0 +1,15 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import java.time.Instant;
+
+/**
+ * When the tasks of one user last changed.
+ *
+ * <p>Read from the user's {@link com.todo.rails.elite.solution.model.TaskCounters} row,
+ * so list endpoints can answer conditional requests with one primary-key lookup.</p>
+ *
+ * @param version      incremented by every write to the user's tasks.
+ * @param lastModified the time of the last write, truncated to seconds.
+ */
+public record TaskChangeMarker(long version, Instant lastModified) {
+}
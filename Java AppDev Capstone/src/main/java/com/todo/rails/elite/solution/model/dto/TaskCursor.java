@@ -0,0 +1,74 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import com.todo.rails.elite.solution.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the task list ordered by {@code (due_date, id)}.
+ *
+ * <p>Clients receive the cursor as an opaque URL-safe string and send it back
+ * in the {@code after} parameter to fetch the next page. Because the cursor holds
+ * the sort key of the last returned row, the next page is read with an index
+ * range scan instead of an {@code OFFSET}.</p>
+ *
+ * @param dueDate the due date of the last task on the previous page.
+ * @param id      the id of the last task on the previous page.
+ */
+public record TaskCursor(LocalDate dueDate, Long id) {
+
+	private static final String SEPARATOR = ":";
+
+	/**
+	 * Creates the cursor pointing just after the given task.
+	 *
+	 * @param task the last {@link Task} of a page.
+	 * @return the cursor for the following page.
+	 */
+	public static TaskCursor after(Task task) {
+		return new TaskCursor(task.getDueDate(), task.getId());
+	}
+
+	/**
+	 * Creates the cursor pointing just after the given task summary.
+	 *
+	 * @param task the last {@link TaskSummary} of a page.
+	 * @return the cursor for the following page.
+	 */
+	public static TaskCursor after(TaskSummary task) {
+		return new TaskCursor(task.dueDate(), task.id());
+	}
+
+	/**
+	 * Decodes a cursor previously produced by {@link #encode()}.
+	 *
+	 * @param value the encoded cursor.
+	 * @return the decoded {@link TaskCursor}.
+	 * @throws IllegalArgumentException if the value is not a valid cursor.
+	 */
+	public static TaskCursor decode(String value) throws IllegalArgumentException {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(SEPARATOR);
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return new TaskCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+		} catch (DateTimeParseException | IllegalArgumentException exception) {
+			throw new IllegalArgumentException("Invalid cursor", exception);
+		}
+	}
+
+	/**
+	 * Encodes this cursor as an opaque URL-safe string.
+	 *
+	 * @return the encoded cursor.
+	 */
+	public String encode() {
+		String value = dueDate + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
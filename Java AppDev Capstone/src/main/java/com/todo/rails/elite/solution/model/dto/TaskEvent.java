@@ -0,0 +1,27 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * A committed change to the tasks of one owner, pushed to their open dashboards.
+ *
+ * <p>Published by the services as an application event and sent to the browser
+ * as the {@code task} server-sent event, without the owner id.</p>
+ *
+ * @param ownerId  the id of the user whose tasks changed.
+ * @param type     what happened to the tasks.
+ * @param ids      the ids of the affected tasks, or an empty list if the change selected them by condition.
+ * @param affected the number of affected tasks.
+ */
+public record TaskEvent(@JsonIgnore Long ownerId, Type type, List<Long> ids, int affected) {
+
+	public static TaskEvent of(Long ownerId, Type type, Long id) {
+		return new TaskEvent(ownerId, type, id == null ? List.of() : List.of(id), 1);
+	}
+
+	public enum Type {
+		ADDED, UPDATED, COMPLETED, DELETED
+	}
+}
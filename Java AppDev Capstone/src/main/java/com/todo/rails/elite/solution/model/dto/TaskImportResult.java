@@ -0,0 +1,22 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk task import.
+ *
+ * @param imported the number of tasks that were inserted.
+ * @param rejected the tasks that were skipped, with the reason for each.
+ */
+public record TaskImportResult(int imported, List<Rejection> rejected) {
+
+	/**
+	 * A task that was not imported.
+	 *
+	 * @param index  the position of the task in the request.
+	 * @param title  the title of the task.
+	 * @param reason why the task was skipped.
+	 */
+	public record Rejection(int index, String title, String reason) {
+	}
+}
@@ -0,0 +1,14 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of tasks ordered by {@code (due_date, id)}.
+ *
+ * @param tasks      the tasks on this page.
+ * @param nextCursor the encoded {@link TaskCursor} for the next page, or {@code null} on the last page.
+ * @param <T>        the task representation, either a full {@link com.todo.rails.elite.solution.model.Task}
+ *                   or a {@link TaskSummary}.
+ */
+public record TaskPage<T>(List<T> tasks, String nextCursor) {
+}
@@ -0,0 +1,18 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import com.todo.rails.elite.solution.model.Task;
+
+import java.time.LocalDate;
+
+/**
+ * The fields of a task that decide which counters it is included in.
+ *
+ * @param completed whether the task is completed.
+ * @param dueDate   the due date of the task.
+ */
+public record TaskState(boolean completed, LocalDate dueDate) {
+
+	public static TaskState of(Task task) {
+		return new TaskState(task.isCompleted(), task.getDueDate());
+	}
+}
@@ -0,0 +1,16 @@
+package com.todo.rails.elite.solution.model.dto;
+
+/**
+ * Aggregated task counts shown on the dashboard.
+ *
+ * <p>Instances are produced directly by a single aggregate query in
+ * {@link com.todo.rails.elite.solution.repository.TaskRepository}, so no
+ * {@link com.todo.rails.elite.solution.model.Task} entities are loaded to build them.</p>
+ *
+ * @param total        the number of tasks.
+ * @param pending      the number of tasks not marked as completed.
+ * @param completed    the number of completed tasks.
+ * @param pendingToday the number of pending tasks due today.
+ */
+public record TaskStatistics(long total, long pending, long completed, long pendingToday) {
+}
@@ -0,0 +1,19 @@
+package com.todo.rails.elite.solution.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of a task shown in task lists.
+ *
+ * <p>Instances are produced directly by constructor expressions in
+ * {@link com.todo.rails.elite.solution.repository.TaskRepository}, so list
+ * queries neither read the description nor load managed
+ * {@link com.todo.rails.elite.solution.model.Task} entities.</p>
+ *
+ * @param id        the id of the task.
+ * @param title     the title of the task.
+ * @param completed whether the task is completed.
+ * @param dueDate   the due date of the task.
+ */
+public record TaskSummary(Long id, String title, boolean completed, LocalDate dueDate) {
+}
@@ -0,0 +1,16 @@
+package com.todo.rails.elite.solution.model.dto;
+
+/**
+ * The columns of a user shown in user lists.
+ *
+ * <p>Instances are produced directly by a constructor expression in
+ * {@link com.todo.rails.elite.solution.repository.UserRepository}, so the
+ * password hash is never read for a list.</p>
+ *
+ * @param id       the id of the user.
+ * @param username the username.
+ * @param email    the email address.
+ * @param roles    the comma-separated roles.
+ */
+public record UserSummary(Long id, String username, String email, String roles) {
+}
@@ -5,35 +5,86 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.Serial;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
+/**
+ * The signed-in user: id, username and authorities, copied from the {@link User}.
+ *
+ * <p>Authenticated sessions hold a copy from {@link #withoutPassword()}, since
+ * sessions are serialized into the session table. The password hash is never
+ * serialized in any case.</p>
+ */
 public class SecurityUser implements UserDetails {
 
-	private final User user;
+	@Serial
+	private static final long serialVersionUID = 2L;
+
+	private final Long id;
+
+	private final String username;
+
+	private final transient String password;
+
+	/**
+	 * Authorities parsed once from the comma-separated roles of the user.
+	 */
+	private final List<GrantedAuthority> authorities;
 
 	public SecurityUser(User user) {
-		this.user = user;
+		this(
+				user.getId(),
+				user.getUsername(),
+				user.getPassword(),
+				Arrays.stream(
+						user.getRoles().split(",")
+				).<GrantedAuthority>map(
+						SimpleGrantedAuthority::new
+				).toList()
+		);
+	}
+
+	private SecurityUser(Long id, String username, String password, List<GrantedAuthority> authorities) {
+		this.id = id;
+		this.username = username;
+		this.password = password;
+		this.authorities = authorities;
+	}
+
+	/**
+	 * Returns a copy without the password hash, to keep as the principal of an authenticated session.
+	 *
+	 * @return a {@link SecurityUser} whose {@link #getPassword()} is {@code null}.
+	 */
+	public SecurityUser withoutPassword() {
+		return new SecurityUser(id, username, null, authorities);
+	}
+
+	/**
+	 * Returns the id of the user, which scopes all of their task queries.
+	 *
+	 * @return the id of the underlying {@link User}.
+	 */
+	public Long getId() {
+		return id;
 	}
 
 	// TODO 6: update the SecurityUser model
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return Arrays.stream(
-				user.getRoles().split(",")
-		).map(
-				SimpleGrantedAuthority::new
-		).toList();
+		return authorities;
 	}
 
 	@Override
 	public String getPassword() {
-		return user.getPassword();
+		return password;
 	}
 
 	@Override
 	public String getUsername() {
-		return user.getUsername();
+		return username;
 	}
 
 }
@@ -0,0 +1,105 @@
+package com.todo.rails.elite.solution.repository;
+
+import com.todo.rails.elite.solution.model.StoredSession;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link StoredSession} rows.
+ *
+ * <p>Every write is a single statement in a transaction of its own. Updates of a
+ * session that another node has deleted meanwhile change no rows, so a logged-out
+ * session is never written back.</p>
+ */
+@Repository
+public interface StoredSessionRepository extends JpaRepository<StoredSession, String> {
+
+	@Transactional
+	@Modifying
+	@Query("""
+			INSERT INTO StoredSession (id, creationTime, lastAccessedTime, maxInactiveSeconds, expiryTime, attributes)
+			VALUES (:id, :creationTime, :lastAccessedTime, :maxInactiveSeconds, :expiryTime, :attributes)
+			""")
+	int insert(
+			@Param("id") String id,
+			@Param("creationTime") Instant creationTime,
+			@Param("lastAccessedTime") Instant lastAccessedTime,
+			@Param("maxInactiveSeconds") long maxInactiveSeconds,
+			@Param("expiryTime") Instant expiryTime,
+			@Param("attributes") byte[] attributes
+	);
+
+	/**
+	 * Writes the attributes of a session together with its access time.
+	 *
+	 * @return the number of updated rows; {@code 0} if the session no longer exists.
+	 */
+	@Transactional
+	@Modifying
+	@Query("""
+			UPDATE StoredSession s
+			SET s.lastAccessedTime = :lastAccessedTime, s.maxInactiveSeconds = :maxInactiveSeconds,
+				s.expiryTime = :expiryTime, s.attributes = :attributes
+			WHERE s.id = :id
+			""")
+	int update(
+			@Param("id") String id,
+			@Param("lastAccessedTime") Instant lastAccessedTime,
+			@Param("maxInactiveSeconds") long maxInactiveSeconds,
+			@Param("expiryTime") Instant expiryTime,
+			@Param("attributes") byte[] attributes
+	);
+
+	/**
+	 * Extends a session without rewriting its attributes.
+	 *
+	 * @return the number of updated rows; {@code 0} if the session no longer exists.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE StoredSession s SET s.lastAccessedTime = :lastAccessedTime, s.expiryTime = :expiryTime WHERE s.id = :id")
+	int touch(
+			@Param("id") String id,
+			@Param("lastAccessedTime") Instant lastAccessedTime,
+			@Param("expiryTime") Instant expiryTime
+	);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE StoredSession s SET s.id = :newId WHERE s.id = :oldId")
+	int changeId(@Param("oldId") String oldId, @Param("newId") String newId);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM StoredSession s WHERE s.id = :id")
+	int deleteSession(@Param("id") String id);
+
+	/**
+	 * Finds sessions that expired before the given time, oldest first, using the expiry index.
+	 *
+	 * @param now   the current time.
+	 * @param limit the maximum number of ids to return.
+	 * @return the ids of expired sessions.
+	 */
+	@Query("SELECT s.id FROM StoredSession s WHERE s.expiryTime < :now ORDER BY s.expiryTime")
+	List<String> findExpiredIds(@Param("now") Instant now, Limit limit);
+
+	/**
+	 * Deletes the given sessions unless they were extended since they were found.
+	 *
+	 * @return the number of deleted rows.
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM StoredSession s WHERE s.id IN :ids AND s.expiryTime < :now")
+	int deleteExpired(@Param("ids") Collection<String> ids, @Param("now") Instant now);
+}
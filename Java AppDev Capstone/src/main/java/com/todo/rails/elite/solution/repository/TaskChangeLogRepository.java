@@ -0,0 +1,54 @@
+package com.todo.rails.elite.solution.repository;
+
+import com.todo.rails.elite.solution.model.TaskChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link TaskChangeLogEntry} rows.
+ *
+ * <p>Reads run outside read-only transactions, so they go to the primary, which
+ * has every committed entry.</p>
+ */
+@Repository
+public interface TaskChangeLogRepository extends JpaRepository<TaskChangeLogEntry, Long> {
+
+	/**
+	 * Finds the entries after the given id, in id order.
+	 *
+	 * @param afterId the highest id already read.
+	 * @param limit   the maximum number of entries to return.
+	 * @return the next entries.
+	 */
+	@Query("SELECT e FROM TaskChangeLogEntry e WHERE e.id > :afterId ORDER BY e.id")
+	List<TaskChangeLogEntry> findAfter(@Param("afterId") long afterId, Limit limit);
+
+	List<TaskChangeLogEntry> findByIdIn(Collection<Long> ids);
+
+	@Query("SELECT COALESCE(MAX(e.id), 0) FROM TaskChangeLogEntry e")
+	long findMaxId();
+
+	/**
+	 * Finds entries written before the given time, oldest first, using the creation time index.
+	 *
+	 * @param before the cutoff time.
+	 * @param limit  the maximum number of ids to return.
+	 * @return the ids of old entries.
+	 */
+	@Query("SELECT e.id FROM TaskChangeLogEntry e WHERE e.createdAt < :before ORDER BY e.createdAt")
+	List<Long> findIdsCreatedBefore(@Param("before") Instant before, Limit limit);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM TaskChangeLogEntry e WHERE e.id IN :ids")
+	int deleteByIds(@Param("ids") Collection<Long> ids);
+}
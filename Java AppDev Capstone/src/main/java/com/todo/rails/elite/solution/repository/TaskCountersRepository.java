@@ -0,0 +1,175 @@
+package com.todo.rails.elite.solution.repository;
+
+import com.todo.rails.elite.solution.model.TaskCounters;
+import com.todo.rails.elite.solution.model.dto.PendingCount;
+import com.todo.rails.elite.solution.model.dto.TaskChangeMarker;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the {@link TaskCounters} and
+ * {@link com.todo.rails.elite.solution.model.TaskDueDateCounter} rows of each user.
+ *
+ * <p>Counters are only ever changed with bulk statements, so no counter entity is
+ * held in a persistence context while other statements change its row. Every
+ * change must join the transaction of the task write it accounts for.</p>
+ */
+@Repository
+public interface TaskCountersRepository extends JpaRepository<TaskCounters, Long> {
+
+	/**
+	 * Reads the counts of one owner, including the pending tasks due on the given date, in one statement.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param today   the date used for the "pending today" count.
+	 * @return the {@link TaskStatistics}, or empty if the owner has no counters yet.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskStatistics(
+				c.total,
+				c.pending,
+				c.completed,
+				COALESCE((
+					SELECT d.pending FROM TaskDueDateCounter d
+					WHERE d.ownerId = c.ownerId AND d.dueDate = :today
+				), 0)
+			)
+			FROM TaskCounters c
+			WHERE c.ownerId = :ownerId
+			""")
+	Optional<TaskStatistics> findStatistics(@Param("ownerId") Long ownerId, @Param("today") LocalDate today);
+
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.PendingCount(d.dueDate, d.pending)
+			FROM TaskDueDateCounter d
+			WHERE d.ownerId = :ownerId AND d.pending <> 0
+			ORDER BY d.dueDate
+			""")
+	List<PendingCount> findPendingCounts(@Param("ownerId") Long ownerId);
+
+	/**
+	 * Reads the change marker of one owner with a primary-key lookup.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return the {@link TaskChangeMarker}, or empty if the owner has no counters or no recorded change yet.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskChangeMarker(c.version, c.lastModified)
+			FROM TaskCounters c
+			WHERE c.ownerId = :ownerId AND c.lastModified IS NOT NULL
+			""")
+	Optional<TaskChangeMarker> findChangeMarker(@Param("ownerId") Long ownerId);
+
+	/**
+	 * Locks the counters row of one owner until the end of the transaction.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return the locked {@link TaskCounters}, or empty if the owner has no counters yet.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM TaskCounters c WHERE c.ownerId = :ownerId")
+	Optional<TaskCounters> lockByOwnerId(@Param("ownerId") Long ownerId);
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("INSERT INTO TaskCounters (ownerId, total, pending, completed, version) VALUES (:ownerId, 0, 0, 0, 0)")
+	int insert(@Param("ownerId") Long ownerId);
+
+	/**
+	 * Records a change to the tasks of one owner.
+	 *
+	 * @return the number of updated rows; {@code 0} if the owner has no counters yet.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("UPDATE TaskCounters c SET c.version = c.version + 1, c.lastModified = :now WHERE c.ownerId = :ownerId")
+	int bumpVersion(@Param("ownerId") Long ownerId, @Param("now") Instant now);
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("""
+			UPDATE TaskCounters c
+			SET c.total = c.total + :total, c.pending = c.pending + :pending, c.completed = c.completed + :completed
+			WHERE c.ownerId = :ownerId
+			""")
+	int increment(
+			@Param("ownerId") Long ownerId,
+			@Param("total") long total,
+			@Param("pending") long pending,
+			@Param("completed") long completed
+	);
+
+	/**
+	 * Overwrites the counts of one owner if they differ from the given values.
+	 *
+	 * @return {@code 1} if the counts were wrong and have been replaced, otherwise {@code 0}.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("""
+			UPDATE TaskCounters c
+			SET c.total = :total, c.pending = :pending, c.completed = :completed
+			WHERE c.ownerId = :ownerId AND (c.total <> :total OR c.pending <> :pending OR c.completed <> :completed)
+			""")
+	int repair(
+			@Param("ownerId") Long ownerId,
+			@Param("total") long total,
+			@Param("pending") long pending,
+			@Param("completed") long completed
+	);
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("""
+			UPDATE TaskDueDateCounter d SET d.pending = d.pending + :pending
+			WHERE d.ownerId = :ownerId AND d.dueDate = :dueDate
+			""")
+	int incrementPending(
+			@Param("ownerId") Long ownerId,
+			@Param("dueDate") LocalDate dueDate,
+			@Param("pending") long pending
+	);
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("INSERT INTO TaskDueDateCounter (ownerId, dueDate, pending) VALUES (:ownerId, :dueDate, :pending)")
+	int insertPending(
+			@Param("ownerId") Long ownerId,
+			@Param("dueDate") LocalDate dueDate,
+			@Param("pending") long pending
+	);
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("DELETE FROM TaskDueDateCounter d WHERE d.ownerId = :ownerId")
+	int deletePending(@Param("ownerId") Long ownerId);
+
+	/**
+	 * Recreates the pending counts per due date of one owner from their tasks, in one statement.
+	 *
+	 * @return the number of inserted rows.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Modifying
+	@Query("""
+			INSERT INTO TaskDueDateCounter (ownerId, dueDate, pending)
+			SELECT t.ownerId, t.dueDate, COUNT(t) FROM Task t
+			WHERE t.ownerId = :ownerId AND t.completed = false
+			GROUP BY t.ownerId, t.dueDate
+			""")
+	int insertPendingFromTasks(@Param("ownerId") Long ownerId);
+}
@@ -1,12 +1,302 @@
 package com.todo.rails.elite.solution.repository;
 
 import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.PendingCount;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.model.dto.TaskState;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Repository for {@link Task} entities.
+ *
+ * <p>Every query is scoped to one owner and filters on {@code user_id} first,
+ * so it is served by an index that leads with the owner and its cost depends
+ * only on that user's tasks.</p>
+ *
+ * <p>Queries whose entities are only displayed or exported carry the Hibernate
+ * read-only hint: their entities are not snapshotted for dirty checking and
+ * never flushed, even outside a read-only transaction.</p>
+ */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
-	Optional<Task> findByTitle(String title);
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	Optional<Task> findByIdAndOwnerId(Long id, Long ownerId);
+
+	Optional<Task> findByOwnerIdAndTitle(Long ownerId, String title);
+
+	long countByOwnerId(Long ownerId);
+
+	@Query("SELECT t.title FROM Task t WHERE t.ownerId = :ownerId AND t.title IN :titles")
+	List<String> findExistingTitles(@Param("ownerId") Long ownerId, @Param("titles") Collection<String> titles);
+
+	/**
+	 * Looks up the id of a task by its owner and title, through the unique owner and title index.
+	 *
+	 * @return the id, or empty if the owner has no such task.
+	 */
+	@Query("SELECT t.id FROM Task t WHERE t.ownerId = :ownerId AND t.title = :title")
+	Optional<Long> findIdByTitle(@Param("ownerId") Long ownerId, @Param("title") String title);
+
+	/**
+	 * Reads the counted state of the task that {@link #updateByTitle} would update.
+	 *
+	 * @return the {@link TaskState} of the task, or empty if no such task exists.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskState(t.completed, t.dueDate)
+			FROM Task t
+			WHERE t.ownerId = :ownerId AND t.title = :title AND (:id IS NULL OR t.id = :id)
+			""")
+	Optional<TaskState> findStateByTitle(@Param("ownerId") Long ownerId, @Param("title") String title, @Param("id") Long id);
+
+	/**
+	 * Updates a task in place, identified by its owner and title, in a single statement.
+	 *
+	 * <p>Like the other bulk statements below, it also increments the task version
+	 * and sets the modification time, which entity callbacks would do for regular saves.</p>
+	 *
+	 * @param id the expected id of the task, or {@code null} to match on the title alone.
+	 * @return the number of updated rows: {@code 1}, or {@code 0} if no such task exists.
+	 */
+	@Transactional
+	@Modifying
+	@Query("""
+			UPDATE Task t
+			SET t.description = :description, t.completed = :completed, t.dueDate = :dueDate,
+				t.version = t.version + 1, t.lastModified = :now
+			WHERE t.ownerId = :ownerId AND t.title = :title AND (:id IS NULL OR t.id = :id)
+			""")
+	int updateByTitle(
+			@Param("ownerId") Long ownerId,
+			@Param("title") String title,
+			@Param("id") Long id,
+			@Param("description") String description,
+			@Param("completed") boolean completed,
+			@Param("dueDate") LocalDate dueDate,
+			@Param("now") Instant now
+	);
+
+	@Transactional
+	@Modifying
+	@Query("""
+			UPDATE Task t SET t.completed = true, t.version = t.version + 1, t.lastModified = :now
+			WHERE t.ownerId = :ownerId AND t.id IN :ids AND t.completed = false
+			""")
+	int completeByIdIn(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+	@Transactional
+	@Modifying
+	@Query("""
+			UPDATE Task t SET t.completed = true, t.version = t.version + 1, t.lastModified = :now
+			WHERE t.ownerId = :ownerId AND t.completed = false AND t.dueDate < :today
+			""")
+	int completeOverdue(@Param("ownerId") Long ownerId, @Param("today") LocalDate today, @Param("now") Instant now);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM Task t WHERE t.ownerId = :ownerId AND t.id IN :ids")
+	int deleteByIdIn(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM Task t WHERE t.ownerId = :ownerId AND t.completed = false AND t.dueDate < :today")
+	int deleteOverdue(@Param("ownerId") Long ownerId, @Param("today") LocalDate today);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM Task t WHERE t.ownerId = :ownerId AND t.completed = true AND t.dueDate < :date")
+	int deleteCompletedDueBefore(@Param("ownerId") Long ownerId, @Param("date") LocalDate date);
+
+	/**
+	 * Computes all dashboard counts of one owner in one pass over their tasks.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param today   the date used for the "pending today" count.
+	 * @return the aggregated {@link TaskStatistics}.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskStatistics(
+				COUNT(t),
+				COALESCE(SUM(CASE WHEN t.completed = false THEN 1 ELSE 0 END), 0),
+				COALESCE(SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END), 0),
+				COALESCE(SUM(CASE WHEN t.completed = false AND t.dueDate = :today THEN 1 ELSE 0 END), 0)
+			)
+			FROM Task t
+			WHERE t.ownerId = :ownerId
+			""")
+	TaskStatistics getStatistics(@Param("ownerId") Long ownerId, @Param("today") LocalDate today);
+
+	/**
+	 * Counts one owner's pending tasks per due date.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return a {@link PendingCount} for every date with pending tasks, ordered by date.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.PendingCount(t.dueDate, COUNT(t))
+			FROM Task t
+			WHERE t.ownerId = :ownerId AND t.completed = false
+			GROUP BY t.dueDate
+			ORDER BY t.dueDate
+			""")
+	List<PendingCount> countPendingByDueDate(@Param("ownerId") Long ownerId);
+
+	/**
+	 * Reads the summaries of one owner's tasks with the given status.
+	 *
+	 * @param ownerId   the id of the owning user.
+	 * @param completed the status to filter by.
+	 * @return the matching {@link TaskSummary} objects ordered by due date, then id.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskSummary(t.id, t.title, t.completed, t.dueDate)
+			FROM Task t
+			WHERE t.ownerId = :ownerId AND t.completed = :completed
+			ORDER BY t.dueDate ASC, t.id ASC
+			""")
+	List<TaskSummary> findSummariesByCompleted(@Param("ownerId") Long ownerId, @Param("completed") boolean completed);
+
+	/**
+	 * Reads the summaries of one owner's tasks with the given status and due date.
+	 *
+	 * @param ownerId   the id of the owning user.
+	 * @param completed the status to filter by.
+	 * @param dueDate   the due date to filter by.
+	 * @return the matching {@link TaskSummary} objects ordered by id.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskSummary(t.id, t.title, t.completed, t.dueDate)
+			FROM Task t
+			WHERE t.ownerId = :ownerId AND t.completed = :completed AND t.dueDate = :dueDate
+			ORDER BY t.id ASC
+			""")
+	List<TaskSummary> findSummariesByCompletedAndDueDate(
+			@Param("ownerId") Long ownerId,
+			@Param("completed") boolean completed,
+			@Param("dueDate") LocalDate dueDate
+	);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	List<Task> findByOwnerIdAndCompletedFalseAndDueDateOrderByIdAsc(Long ownerId, LocalDate dueDate, Limit limit);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	List<Task> findByOwnerIdAndCompletedFalseOrderByDueDateAscIdAsc(Long ownerId, Limit limit);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	List<Task> findByOwnerIdOrderByDueDateAscIdAsc(Long ownerId, Limit limit);
+
+	/**
+	 * Streams one owner's tasks ordered by id without materializing the result set.
+	 *
+	 * <p>Must be called inside a transaction and the stream must be closed by the caller.
+	 * The fetch size bounds how many rows the driver buffers at a time; on MySQL this
+	 * requires {@code useCursorFetch=true} on the JDBC URL.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return a lazily populated stream of {@link Task} objects.
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Task> streamByOwnerIdOrderByIdAsc(Long ownerId);
+
+	/**
+	 * Loads some of one owner's tasks by id, for refreshing in-memory copies of them.
+	 *
+	 * @param ownerId the id of the owning user; ids of other users' tasks are ignored.
+	 * @param ids     the ids of the tasks.
+	 * @return the tasks that exist, in no particular order.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	List<Task> findByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
+	/**
+	 * Streams the tasks of every owner ordered by id, for maintenance work such as rebuilding the search index.
+	 *
+	 * <p>The same rules as for {@link #streamByOwnerIdOrderByIdAsc(Long)} apply. Not for use in request handling.</p>
+	 *
+	 * @return a lazily populated stream of {@link Task} objects.
+	 */
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Task> streamByOrderByIdAsc();
+
+	/**
+	 * Reads one owner's tasks that sort after the given {@code (dueDate, id)} position.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param dueDate the due date of the last task already returned.
+	 * @param id      the id of the last task already returned.
+	 * @param limit   the maximum number of tasks to return.
+	 * @return the following tasks ordered by due date, then id.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query("""
+			SELECT t FROM Task t
+			WHERE t.ownerId = :ownerId AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id))
+			ORDER BY t.dueDate ASC, t.id ASC
+			""")
+	List<Task> findPageAfter(
+			@Param("ownerId") Long ownerId,
+			@Param("dueDate") LocalDate dueDate,
+			@Param("id") Long id,
+			Limit limit
+	);
+
+	/**
+	 * Reads the summaries of one owner's first tasks ordered by due date, then id.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param limit   the maximum number of tasks to return.
+	 * @return the first {@link TaskSummary} objects.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskSummary(t.id, t.title, t.completed, t.dueDate)
+			FROM Task t
+			WHERE t.ownerId = :ownerId
+			ORDER BY t.dueDate ASC, t.id ASC
+			""")
+	List<TaskSummary> findSummaryPage(@Param("ownerId") Long ownerId, Limit limit);
+
+	/**
+	 * Reads the summaries of one owner's tasks that sort after the given {@code (dueDate, id)} position.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param dueDate the due date of the last task already returned.
+	 * @param id      the id of the last task already returned.
+	 * @param limit   the maximum number of tasks to return.
+	 * @return the following {@link TaskSummary} objects ordered by due date, then id.
+	 */
+	@Query("""
+			SELECT new com.todo.rails.elite.solution.model.dto.TaskSummary(t.id, t.title, t.completed, t.dueDate)
+			FROM Task t
+			WHERE t.ownerId = :ownerId AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id))
+			ORDER BY t.dueDate ASC, t.id ASC
+			""")
+	List<TaskSummary> findSummaryPageAfter(
+			@Param("ownerId") Long ownerId,
+			@Param("dueDate") LocalDate dueDate,
+			@Param("id") Long id,
+			Limit limit
+	);
 }
@@ -1,9 +1,15 @@
 package com.todo.rails.elite.solution.repository;
 
 import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByUsername(String username);
 
 	Optional<User> findByEmail(String email);
+
+	@Query("SELECT u.id FROM User u ORDER BY u.id")
+	List<Long> findAllIds();
+
+	/**
+	 * Reads every user without the password hash.
+	 *
+	 * @return the {@link UserSummary} of every user ordered by id.
+	 */
+	@Query("SELECT new com.todo.rails.elite.solution.model.dto.UserSummary(u.id, u.username, u.email, u.roles) FROM User u ORDER BY u.id")
+	List<UserSummary> findAllSummaries();
+
+	/**
+	 * Replaces a password hash only if it still has the expected value.
+	 *
+	 * @return the number of updated rows: {@code 1}, or {@code 0} if the password changed in the meantime.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.password = :newPassword WHERE u.username = :username AND u.password = :currentPassword")
+	int updatePasswordIfUnchanged(
+			@Param("username") String username,
+			@Param("currentPassword") String currentPassword,
+			@Param("newPassword") String newPassword
+	);
 }
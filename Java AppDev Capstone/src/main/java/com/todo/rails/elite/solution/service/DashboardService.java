@@ -0,0 +1,75 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.dto.Dashboard;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Service class that builds the data shown on the home page dashboard.
+ *
+ * <p>The counts are read from the user's {@link TaskCounterService counters} and
+ * the task lists are bounded, so rendering the dashboard costs three small
+ * queries regardless of how many tasks the user, or anyone else, has stored.</p>
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+public class DashboardService {
+
+	private final TaskRepository taskRepository;
+
+	private final TaskCounterService taskCounterService;
+
+	/**
+	 * Maximum number of tasks returned in each dashboard list.
+	 */
+	private final int listLimit;
+
+	@Autowired
+	public DashboardService(
+			TaskRepository taskRepository,
+			TaskCounterService taskCounterService,
+			@Value("${app.dashboard.list-limit:50}") int listLimit
+	) {
+		this.taskRepository = taskRepository;
+		this.taskCounterService = taskCounterService;
+		this.listLimit = listLimit;
+	}
+
+	/**
+	 * Retrieves the task counts of one user for the dashboard metric cards.
+	 *
+	 * <p>Always read from the primary: {@link TaskEventStream} calls this right after
+	 * a commit, which a lagging replica might not show yet.</p>
+	 *
+	 * @param ownerId the id of the user whose tasks are counted.
+	 * @return the aggregated {@link TaskStatistics}.
+	 */
+	public TaskStatistics getStatistics(Long ownerId) {
+		return taskCounterService.getStatistics(ownerId);
+	}
+
+	/**
+	 * Retrieves one user's counts together with bounded lists of their today's and pending tasks.
+	 *
+	 * @param ownerId the id of the user whose dashboard is shown.
+	 * @return the {@link Dashboard} for the home page.
+	 */
+	@Transactional(readOnly = true)
+	public Dashboard getDashboard(Long ownerId) {
+		LocalDate today = LocalDate.now();
+		Limit limit = Limit.of(listLimit);
+		return new Dashboard(
+				taskCounterService.getStatistics(ownerId),
+				taskRepository.findByOwnerIdAndCompletedFalseAndDueDateOrderByIdAsc(ownerId, today, limit),
+				taskRepository.findByOwnerIdAndCompletedFalseOrderByDueDateAscIdAsc(ownerId, limit)
+		);
+	}
+}
@@ -0,0 +1,228 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.config.CacheConfig;
+import com.todo.rails.elite.solution.model.TaskChangeLogEntry;
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.repository.TaskChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Passes task changes between the instances of a cluster through the database.
+ *
+ * <p>Each instance keeps task state in memory: the {@link CacheConfig#TASKS_BY_ID}
+ * and {@link CacheConfig#TASKS_BY_TITLE} caches, the {@link TaskSearchIndex} and
+ * the dashboards subscribed to its {@link TaskEventStream}. Every
+ * {@link TaskEvent} is therefore also written to the change log, in the
+ * transaction of the write it describes, so it becomes visible to the other
+ * instances exactly when the write commits.</p>
+ *
+ * <p>Every instance reads the log each {@code app.cluster.poll-interval}. For
+ * each change another instance made, it evicts the owner's cached tasks and
+ * updates the search index for just the changed task ids: deleted tasks are
+ * removed, and the others are read again from the primary database. Only bulk
+ * changes that selected their tasks by condition, whose ids are not known,
+ * rebuild the owner's search partition. The events are then sent to the
+ * instance's own open dashboards. A change thus reaches every instance within
+ * about one poll interval.</p>
+ *
+ * <p>Log ids come from an identity column, and transactions commit out of
+ * order: a row can appear after one with a higher id was read. Ids skipped over
+ * are looked up again on later polls until they appear or
+ * {@code app.cluster.gap-timeout} has passed, which covers rolled back
+ * writes. Rows older than {@code app.cluster.retention} are deleted in batches.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.cluster", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeBroadcaster implements InitializingBean {
+
+	/**
+	 * The most skipped ids tracked at once; a larger jump in ids is not waited for.
+	 */
+	static final int MAX_GAPS = 1000;
+
+	private static final Logger log = LoggerFactory.getLogger(TaskChangeBroadcaster.class);
+
+	private final TaskChangeLogRepository taskChangeLogRepository;
+	private final CacheManager cacheManager;
+	private final TaskSearchIndex taskSearchIndex;
+	private final TaskEventStream taskEventStream;
+	private final Duration gapTimeout;
+	private final Duration retention;
+	private final int batchSize;
+
+	/**
+	 * Identifies the rows this instance wrote, which it has already applied.
+	 */
+	private final String nodeId = UUID.randomUUID().toString();
+
+	/**
+	 * The highest log id read so far. Guarded by {@code this}.
+	 */
+	private long lastReadId;
+
+	/**
+	 * Skipped ids below {@link #lastReadId}, with the time they were first skipped. Guarded by {@code this}.
+	 */
+	private final Map<Long, Instant> gaps = new HashMap<>();
+
+	@Autowired
+	public TaskChangeBroadcaster(
+			TaskChangeLogRepository taskChangeLogRepository,
+			CacheManager cacheManager,
+			TaskSearchIndex taskSearchIndex,
+			TaskEventStream taskEventStream,
+			@Value("${app.cluster.gap-timeout:PT1M}") Duration gapTimeout,
+			@Value("${app.cluster.retention:PT1H}") Duration retention,
+			@Value("${app.cluster.batch-size:500}") int batchSize
+	) {
+		this.taskChangeLogRepository = taskChangeLogRepository;
+		this.cacheManager = cacheManager;
+		this.taskSearchIndex = taskSearchIndex;
+		this.taskEventStream = taskEventStream;
+		this.gapTimeout = gapTimeout;
+		this.retention = retention;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Starts reading at the end of the log. Runs before the search index is
+	 * built, so no change committed in between is missed.
+	 */
+	@Override
+	public synchronized void afterPropertiesSet() {
+		lastReadId = taskChangeLogRepository.findMaxId();
+	}
+
+	/**
+	 * Records a change for the other instances, as part of the writer's transaction.
+	 *
+	 * @param event the change, published by the task services.
+	 */
+	@EventListener
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void onTaskEvent(TaskEvent event) {
+		taskChangeLogRepository.save(new TaskChangeLogEntry(nodeId, event, Instant.now()));
+	}
+
+	/**
+	 * Applies the changes that other instances committed since the last poll.
+	 *
+	 * @return the number of applied changes.
+	 */
+	@Scheduled(fixedDelayString = "${app.cluster.poll-interval:PT1S}")
+	public synchronized int pollChanges() {
+		Instant now = Instant.now();
+		int applied = 0;
+		if (!gaps.isEmpty()) {
+			List<TaskChangeLogEntry> late = taskChangeLogRepository.findByIdIn(List.copyOf(gaps.keySet()));
+			late.forEach(entry -> gaps.remove(entry.getId()));
+			Instant expired = now.minus(gapTimeout);
+			gaps.values().removeIf(skipped -> skipped.isBefore(expired));
+			applied += apply(late);
+		}
+		List<TaskChangeLogEntry> entries;
+		do {
+			entries = taskChangeLogRepository.findAfter(lastReadId, Limit.of(batchSize));
+			for (TaskChangeLogEntry entry : entries) {
+				for (long id = lastReadId + 1; id < entry.getId() && gaps.size() < MAX_GAPS; id++) {
+					gaps.put(id, now);
+				}
+				lastReadId = entry.getId();
+			}
+			applied += apply(entries);
+		} while (entries.size() == batchSize);
+		return applied;
+	}
+
+	/**
+	 * Deletes log entries older than the retention in batches until none are left.
+	 *
+	 * @return the number of deleted entries.
+	 */
+	@Scheduled(fixedDelayString = "${app.cluster.cleanup-interval:PT10M}")
+	public int cleanUpChangeLog() {
+		Instant before = Instant.now().minus(retention);
+		int deleted = 0;
+		List<Long> oldIds;
+		do {
+			oldIds = taskChangeLogRepository.findIdsCreatedBefore(before, Limit.of(batchSize));
+			if (!oldIds.isEmpty()) {
+				deleted += taskChangeLogRepository.deleteByIds(oldIds);
+			}
+		} while (oldIds.size() == batchSize);
+		if (deleted > 0) {
+			log.debug("Deleted {} task change log entries", deleted);
+		}
+		return deleted;
+	}
+
+	private int apply(List<TaskChangeLogEntry> entries) {
+		List<TaskEvent> events = entries.stream()
+				.filter(entry -> !nodeId.equals(entry.getNodeId()))
+				.map(TaskChangeLogEntry::toEvent)
+				.toList();
+		Set<Long> ownerIds = new LinkedHashSet<>();
+		Set<Long> rebuiltOwnerIds = new HashSet<>();
+		Map<Long, Set<Long>> changedIds = new LinkedHashMap<>();
+		for (TaskEvent event : events) {
+			ownerIds.add(event.ownerId());
+			if (event.ids().isEmpty()) {
+				// a bulk change selected by condition; the ids are unknown
+				rebuiltOwnerIds.add(event.ownerId());
+			} else if (event.type() == TaskEvent.Type.DELETED) {
+				taskSearchIndex.removeAll(event.ownerId(), event.ids());
+			} else {
+				changedIds.computeIfAbsent(event.ownerId(), key -> new LinkedHashSet<>()).addAll(event.ids());
+			}
+		}
+		ownerIds.forEach(this::evictTasks);
+		rebuiltOwnerIds.forEach(taskSearchIndex::rebuild);
+		changedIds.forEach((ownerId, ids) -> {
+			if (!rebuiltOwnerIds.contains(ownerId)) {
+				taskSearchIndex.refresh(ownerId, ids);
+			}
+		});
+		// after the eviction, so dashboards reloading on an event read the new state
+		events.forEach(taskEventStream::onTaskEvent);
+		return events.size();
+	}
+
+	private void evictTasks(Long ownerId) {
+		String prefix = ownerId + ":";
+		for (String cacheName : List.of(CacheConfig.TASKS_BY_ID, CacheConfig.TASKS_BY_TITLE)) {
+			Cache cache = cacheManager.getCache(cacheName);
+			if (cache == null) {
+				continue;
+			}
+			if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+				caffeine.asMap().keySet().removeIf(key -> key.toString().startsWith(prefix));
+			} else {
+				cache.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.dto.TaskChangeMarker;
+import com.todo.rails.elite.solution.repository.TaskCountersRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Keeps the per-user {@link TaskChangeMarker} that read endpoints derive their
+ * {@code ETag} and {@code Last-Modified} headers from.
+ *
+ * <p>Writers call {@link #markChanged(Long)} inside their own transaction, so the
+ * marker can never advertise a change that was rolled back, and readers never
+ * see new data under an old marker once the write has committed. The marker lives
+ * on the owner's {@link com.todo.rails.elite.solution.model.TaskCounters} row, which
+ * writers have already locked, so writes of different users never wait for each
+ * other and never invalidate each other's cached lists.</p>
+ */
+@Service
+public class TaskChangeTracker {
+
+	private final TaskCountersRepository taskCountersRepository;
+
+	@Autowired
+	public TaskChangeTracker(TaskCountersRepository taskCountersRepository) {
+		this.taskCountersRepository = taskCountersRepository;
+	}
+
+	/**
+	 * Records that the tasks of one user changed, as part of the caller's transaction.
+	 *
+	 * <p>Does nothing for users without counters; they get no marker until
+	 * {@link TaskCounterService#reconcile()} creates them.</p>
+	 *
+	 * @param ownerId the id of the user whose tasks changed.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void markChanged(Long ownerId) {
+		taskCountersRepository.bumpVersion(ownerId, now());
+	}
+
+	/**
+	 * Reads the marker of one user with a primary-key lookup.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return the current {@link TaskChangeMarker}, or empty if no change of the user's tasks has been recorded,
+	 * in which case responses must not be validated.
+	 */
+	public Optional<TaskChangeMarker> getMarker(Long ownerId) {
+		return taskCountersRepository.findChangeMarker(ownerId);
+	}
+
+	// HTTP dates have second precision
+	private static Instant now() {
+		return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+	}
+}
@@ -0,0 +1,198 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.TaskCounters;
+import com.todo.rails.elite.solution.model.dto.PendingCount;
+import com.todo.rails.elite.solution.model.dto.TaskState;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.repository.TaskCountersRepository;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import com.todo.rails.elite.solution.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the {@link TaskCounters} of every user in step with their tasks.
+ *
+ * <p>Every task write calls {@link #lock(Long)} before touching any task row and then
+ * {@link #record(Long, TaskState, TaskState)} or {@link #recount(Long)} in the same
+ * transaction. Locking the owner's counters row first serializes the writes of one
+ * user, so relative updates are never lost, and gives all writers the same lock
+ * order. Reading the counts with {@link #getStatistics(Long)} is then a primary-key
+ * lookup no matter how many tasks the user has.</p>
+ *
+ * <p>Users who have no counters yet, such as users created before the counters
+ * existed, are served by the aggregate query over their tasks until
+ * {@link #reconcile()} creates them. The same job recounts every user and repairs
+ * any drift, for example after tasks were changed directly in the database.</p>
+ */
+@Service
+public class TaskCounterService {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskCounterService.class);
+
+	private final TaskCountersRepository taskCountersRepository;
+	private final TaskRepository taskRepository;
+	private final UserRepository userRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Counter repairs;
+
+	@Autowired
+	public TaskCounterService(
+			TaskCountersRepository taskCountersRepository,
+			TaskRepository taskRepository,
+			UserRepository userRepository,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry
+	) {
+		this.taskCountersRepository = taskCountersRepository;
+		this.taskRepository = taskRepository;
+		this.userRepository = userRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.repairs = Counter.builder("app.counters.repaired")
+				.description("Users whose task counters were created or corrected by reconciliation")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Reads the task counts of one user.
+	 *
+	 * @param ownerId the id of the user whose tasks are counted.
+	 * @return the {@link TaskStatistics} of the user.
+	 */
+	public TaskStatistics getStatistics(Long ownerId) {
+		LocalDate today = LocalDate.now();
+		return taskCountersRepository.findStatistics(ownerId, today)
+				.orElseGet(() -> taskRepository.getStatistics(ownerId, today));
+	}
+
+	/**
+	 * Creates empty counters for a user who has no tasks yet.
+	 *
+	 * @param ownerId the id of the new user.
+	 */
+	@Transactional
+	public void create(Long ownerId) {
+		taskCountersRepository.insert(ownerId);
+	}
+
+	/**
+	 * Locks the counters of one user until the calling transaction ends.
+	 *
+	 * @param ownerId the id of the user whose tasks are about to change.
+	 * @return {@code true} if the user has counters, {@code false} if they are not counted yet.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public boolean lock(Long ownerId) {
+		return taskCountersRepository.lockByOwnerId(ownerId).isPresent();
+	}
+
+	/**
+	 * Accounts for one added, changed or deleted task.
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param removed the state the task had before the write, or {@code null} if it was added.
+	 * @param added   the state the task has after the write, or {@code null} if it was deleted.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(Long ownerId, TaskState removed, TaskState added) {
+		long total = (added != null ? 1 : 0) - (removed != null ? 1 : 0);
+		long pending = pending(added) - pending(removed);
+		long completed = (added != null ? 1 : 0) - pending(added) - (removed != null ? 1 : 0) + pending(removed);
+		if (taskCountersRepository.increment(ownerId, total, pending, completed) == 0) {
+			// not counted yet
+			return;
+		}
+		if (pending(removed) == 1 && pending(added) == 1 && removed.dueDate().equals(added.dueDate())) {
+			return;
+		}
+		if (pending(removed) == 1) {
+			incrementPending(ownerId, removed.dueDate(), -1);
+		}
+		if (pending(added) == 1) {
+			incrementPending(ownerId, added.dueDate(), 1);
+		}
+	}
+
+	/**
+	 * Recounts the tasks of one user and overwrites their counters if they differ.
+	 *
+	 * <p>Used after bulk statements, which do not know the previous state of the rows
+	 * they change. The user's counters must have been locked with {@link #lock(Long)}.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return {@code true} if any counter was wrong and has been corrected.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public boolean recount(Long ownerId) {
+		TaskStatistics actual = taskRepository.getStatistics(ownerId, LocalDate.now());
+		boolean repaired = taskCountersRepository.repair(
+				ownerId, actual.total(), actual.pending(), actual.completed()
+		) > 0;
+		List<PendingCount> pending = taskRepository.countPendingByDueDate(ownerId);
+		if (!pending.equals(taskCountersRepository.findPendingCounts(ownerId))) {
+			taskCountersRepository.deletePending(ownerId);
+			taskCountersRepository.insertPendingFromTasks(ownerId);
+			repaired = true;
+		}
+		return repaired;
+	}
+
+	/**
+	 * Creates missing counters and recounts every user, each in a transaction of their own.
+	 *
+	 * @return the number of users whose counters were created or corrected.
+	 */
+	@Scheduled(cron = "${app.counters.reconcile-cron:0 15 3 * * *}")
+	public int reconcile() {
+		int repaired = 0;
+		for (Long ownerId : userRepository.findAllIds()) {
+			try {
+				if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(ownerId)))) {
+					repaired++;
+				}
+			} catch (DataAccessException exception) {
+				// e.g. the user was deleted meanwhile, or another instance created the counters first
+				log.warn("Could not reconcile task counters of user {}", ownerId, exception);
+			}
+		}
+		repairs.increment(repaired);
+		if (repaired > 0) {
+			log.info("Repaired the task counters of {} users", repaired);
+		}
+		return repaired;
+	}
+
+	private boolean reconcile(Long ownerId) {
+		if (lock(ownerId)) {
+			return recount(ownerId);
+		}
+		create(ownerId);
+		lock(ownerId);
+		recount(ownerId);
+		return true;
+	}
+
+	private void incrementPending(Long ownerId, LocalDate dueDate, long pending) {
+		if (taskCountersRepository.incrementPending(ownerId, dueDate, pending) == 0) {
+			// the owner's counters row is locked, so no other writer can insert this row meanwhile
+			taskCountersRepository.insertPending(ownerId, dueDate, pending);
+		}
+	}
+
+	private static int pending(TaskState state) {
+		return state != null && !state.completed() ? 1 : 0;
+	}
+}
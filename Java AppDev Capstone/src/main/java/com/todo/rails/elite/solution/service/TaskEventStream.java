@@ -0,0 +1,146 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pushes task changes and the resulting dashboard counts to open dashboards as server-sent events.
+ *
+ * <p>Each browser tab holds one {@link SseEmitter}. An emitter is an asynchronous
+ * servlet response: while it waits for the next event it holds a connection,
+ * but no thread of any kind.</p>
+ *
+ * <p>Every {@link TaskEvent} is handled once its transaction has committed, on an
+ * {@code @Async} thread, so writers never wait for slow clients. If the owner
+ * has open dashboards, their counts are read once from their counters with
+ * {@link DashboardService#getStatistics(Long)} and sent to each of them as the
+ * {@code statistics} event, followed by the {@code task} event itself.
+ * Owners without open dashboards cost nothing. Changes made on other instances
+ * arrive through {@link TaskChangeBroadcaster}, about one poll interval later.</p>
+ *
+ * <p>The counts are sent in full rather than as differences: bulk statements do
+ * not know the previous state of the rows they change, and a complete value
+ * stays correct even if a client missed an event while reconnecting.</p>
+ */
+@Service
+public class TaskEventStream {
+
+	private final DashboardService dashboardService;
+
+	/**
+	 * How long one connection stays open; browsers reconnect automatically afterwards.
+	 */
+	private final Duration timeout;
+
+	private final ConcurrentMap<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+	@Autowired
+	public TaskEventStream(
+			DashboardService dashboardService,
+			MeterRegistry meterRegistry,
+			@Value("${app.events.timeout:30m}") Duration timeout
+	) {
+		this.dashboardService = dashboardService;
+		this.timeout = timeout;
+		Gauge.builder("app.events.subscribers", this, TaskEventStream::subscriberCount)
+				.description("Open server-sent event connections")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Opens an event stream for one owner and sends their current counts as the first event.
+	 *
+	 * @param ownerId the id of the user whose task changes are streamed.
+	 * @return the {@link SseEmitter} to return from the controller.
+	 */
+	public SseEmitter subscribe(Long ownerId) {
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		subscribers.compute(ownerId, (key, emitters) -> {
+			Set<SseEmitter> owned = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+			owned.add(emitter);
+			return owned;
+		});
+		emitter.onCompletion(() -> unsubscribe(ownerId, emitter));
+		emitter.onError(exception -> unsubscribe(ownerId, emitter));
+		send(ownerId, emitter, statisticsEvent(dashboardService.getStatistics(ownerId)));
+		return emitter;
+	}
+
+	/**
+	 * Sends a committed change and the owner's new counts to each of their open streams.
+	 *
+	 * @param event the change, published by the task services.
+	 */
+	@Async
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onTaskEvent(TaskEvent event) {
+		Set<SseEmitter> emitters = subscribers.get(event.ownerId());
+		if (emitters == null || emitters.isEmpty()) {
+			return;
+		}
+		TaskStatistics statistics = dashboardService.getStatistics(event.ownerId());
+		for (SseEmitter emitter : emitters) {
+			send(event.ownerId(), emitter,
+					statisticsEvent(statistics),
+					SseEmitter.event().name("task").data(event, MediaType.APPLICATION_JSON));
+		}
+	}
+
+	/**
+	 * Sends a comment on every open stream, so proxies keep idle connections
+	 * open and connections of clients that went away are detected and released.
+	 */
+	@Scheduled(fixedDelayString = "${app.events.heartbeat:PT30S}")
+	public void sendHeartbeat() {
+		subscribers.forEach((ownerId, emitters) -> emitters.forEach(
+				emitter -> send(ownerId, emitter, SseEmitter.event().comment("heartbeat"))
+		));
+	}
+
+	/**
+	 * Counts the open streams of all owners.
+	 *
+	 * @return the number of open streams.
+	 */
+	public int subscriberCount() {
+		return subscribers.values().stream().mapToInt(Set::size).sum();
+	}
+
+	private void send(Long ownerId, SseEmitter emitter, SseEmitter.SseEventBuilder... events) {
+		try {
+			for (SseEmitter.SseEventBuilder event : events) {
+				emitter.send(event);
+			}
+		} catch (IOException | IllegalStateException exception) {
+			// the client went away or the stream already completed; the container completes it
+			unsubscribe(ownerId, emitter);
+		}
+	}
+
+	private void unsubscribe(Long ownerId, SseEmitter emitter) {
+		subscribers.computeIfPresent(ownerId, (key, emitters) -> {
+			emitters.remove(emitter);
+			return emitters.isEmpty() ? null : emitters;
+		});
+	}
+
+	private static SseEmitter.SseEventBuilder statisticsEvent(TaskStatistics statistics) {
+		return SseEmitter.event().name("statistics").data(statistics, MediaType.APPLICATION_JSON);
+	}
+}
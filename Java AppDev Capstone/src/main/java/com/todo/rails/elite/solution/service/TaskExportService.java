@@ -0,0 +1,149 @@
+package com.todo.rails.elite.solution.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Service class that writes every task to an output stream.
+ *
+ * <p>Tasks are read through a JDBC cursor with a bounded fetch size and
+ * written one line at a time. Each entity is detached once it has been
+ * written, so memory use stays flat regardless of how many tasks are exported.</p>
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+public class TaskExportService {
+
+	/**
+	 * Supported export formats.
+	 */
+	public enum Format {
+		NDJSON("application/x-ndjson", "ndjson"),
+		CSV("text/csv", "csv");
+
+		private final String contentType;
+		private final String extension;
+
+		Format(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+
+		/**
+		 * Resolves a format from its case-insensitive name.
+		 *
+		 * @param name the format name, e.g. {@code ndjson} or {@code csv}.
+		 * @return the matching {@link Format}.
+		 * @throws IllegalArgumentException if the format is not supported.
+		 */
+		public static Format from(String name) throws IllegalArgumentException {
+			try {
+				return valueOf(name.trim().toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException | NullPointerException exception) {
+				throw new IllegalArgumentException("Unsupported export format: " + name);
+			}
+		}
+	}
+
+	private static final String CSV_HEADER = "id,title,description,completed,dueDate";
+
+	private final TaskRepository taskRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+
+	@Autowired
+	public TaskExportService(TaskRepository taskRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+		this.taskRepository = taskRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Writes all tasks of one user, ordered by id, to the given output stream.
+	 *
+	 * <p>The output stream is flushed but not closed.</p>
+	 *
+	 * @param ownerId      the id of the user whose tasks are exported.
+	 * @param format       the {@link Format} to write.
+	 * @param outputStream the stream to write to, typically the HTTP response body.
+	 * @throws UncheckedIOException if writing to the stream fails.
+	 */
+	@Transactional(readOnly = true)
+	public void exportTasks(Long ownerId, Format format, OutputStream outputStream) throws UncheckedIOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		try (Stream<Task> tasks = taskRepository.streamByOwnerIdOrderByIdAsc(ownerId)) {
+			if (format == Format.CSV) {
+				writer.write(CSV_HEADER);
+				writer.write('\n');
+			}
+			tasks.forEach(task -> {
+				writeTask(format, task, writer);
+				entityManager.detach(task);
+			});
+			writer.flush();
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	private void writeTask(Format format, Task task, Writer writer) {
+		try {
+			writer.write(format == Format.CSV ? toCsv(task) : toJson(task));
+			writer.write('\n');
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	private String toJson(Task task) throws JsonProcessingException {
+		return objectMapper.writeValueAsString(task);
+	}
+
+	private static String toCsv(Task task) {
+		return String.join(",",
+				String.valueOf(task.getId()),
+				escapeCsv(task.getTitle()),
+				escapeCsv(task.getDescription()),
+				String.valueOf(task.isCompleted()),
+				String.valueOf(task.getDueDate())
+		);
+	}
+
+	/**
+	 * Quotes a CSV field as described in RFC 4180 when it contains a delimiter, quote or line break.
+	 */
+	private static String escapeCsv(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,172 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.model.dto.TaskImportResult;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for importing large numbers of tasks in one request.
+ *
+ * <p>Tasks are validated against the {@link Task} constraints, checked for
+ * duplicate titles with one {@code IN} query per chunk, and inserted through
+ * Hibernate JDBC batching. The persistence context is flushed and cleared after
+ * every batch so memory use does not grow with the size of the import.</p>
+ *
+ * <p>Titles are compared the way the database collation compares them, ignoring
+ * case and accents, so that titles the unique key treats as equal are rejected
+ * one by one instead of failing the whole import.</p>
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+public class TaskImportService {
+
+	/**
+	 * Number of titles checked per duplicate lookup query.
+	 */
+	private static final int TITLE_LOOKUP_CHUNK_SIZE = 1000;
+
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+	private final TaskRepository taskRepository;
+	private final EntityManager entityManager;
+	private final Validator validator;
+	private final TaskChangeTracker taskChangeTracker;
+	private final TaskSearchIndex taskSearchIndex;
+	private final TaskCounterService taskCounterService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int batchSize;
+	private final int maxTasks;
+
+	@Autowired
+	public TaskImportService(
+			TaskRepository taskRepository,
+			EntityManager entityManager,
+			Validator validator,
+			TaskChangeTracker taskChangeTracker,
+			TaskSearchIndex taskSearchIndex,
+			TaskCounterService taskCounterService,
+			ApplicationEventPublisher eventPublisher,
+			@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+			@Value("${app.import.max-tasks:10000}") int maxTasks
+	) {
+		this.taskRepository = taskRepository;
+		this.entityManager = entityManager;
+		this.validator = validator;
+		this.taskChangeTracker = taskChangeTracker;
+		this.taskSearchIndex = taskSearchIndex;
+		this.taskCounterService = taskCounterService;
+		this.eventPublisher = eventPublisher;
+		this.batchSize = batchSize;
+		this.maxTasks = maxTasks;
+	}
+
+	/**
+	 * Imports the given tasks for one user, skipping any that are invalid or whose title the user already has.
+	 *
+	 * @param ownerId the id of the user who owns the imported tasks.
+	 * @param tasks   the {@link Task} objects to import. Any ids are ignored.
+	 * @return a {@link TaskImportResult} with the number of imported tasks and the rejected ones.
+	 * @throws IllegalArgumentException         if more than the configured maximum number of tasks is sent.
+	 * @throws DataIntegrityViolationException if a title still clashes with a stored one, e.g. one added concurrently.
+	 */
+	@Transactional
+	public TaskImportResult importTasks(Long ownerId, List<Task> tasks)
+			throws IllegalArgumentException, DataIntegrityViolationException {
+		if (tasks.size() > maxTasks) {
+			throw new IllegalArgumentException("Cannot import more than " + maxTasks + " tasks at once");
+		}
+		List<TaskImportResult.Rejection> rejected = new ArrayList<>();
+		Map<String, Integer> candidates = new LinkedHashMap<>();
+		for (int index = 0; index < tasks.size(); index++) {
+			Task task = tasks.get(index);
+			Set<ConstraintViolation<Task>> violations = validator.validate(task);
+			if (!violations.isEmpty()) {
+				String reason = violations.stream()
+						.map(ConstraintViolation::getMessage)
+						.sorted()
+						.collect(Collectors.joining("; "));
+				rejected.add(new TaskImportResult.Rejection(index, task.getTitle(), reason));
+			} else if (candidates.putIfAbsent(titleKey(task.getTitle()), index) != null) {
+				rejected.add(new TaskImportResult.Rejection(index, task.getTitle(), "Duplicate title in request"));
+			}
+		}
+
+		boolean counted = taskCounterService.lock(ownerId);
+		Set<String> existingTitles = findExistingTitles(
+				ownerId, candidates.values().stream().map(index -> tasks.get(index).getTitle()).toList()
+		);
+		List<Long> importedIds = new ArrayList<>();
+		for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+			Task task = tasks.get(candidate.getValue());
+			if (existingTitles.contains(candidate.getKey())) {
+				rejected.add(new TaskImportResult.Rejection(candidate.getValue(), task.getTitle(), "Task already exists"));
+				continue;
+			}
+			task.setId(null);
+			task.setOwnerId(ownerId);
+			entityManager.persist(task);
+			taskSearchIndex.index(task);
+			importedIds.add(task.getId());
+			if (importedIds.size() % batchSize == 0) {
+				// through the repository, whose exception translation turns a title clash into a DataIntegrityViolationException
+				taskRepository.flush();
+				entityManager.clear();
+			}
+		}
+		taskRepository.flush();
+		entityManager.clear();
+		int imported = importedIds.size();
+		if (imported > 0) {
+			if (counted) {
+				taskCounterService.recount(ownerId);
+			}
+			taskChangeTracker.markChanged(ownerId);
+			eventPublisher.publishEvent(new TaskEvent(ownerId, TaskEvent.Type.ADDED, importedIds, imported));
+		}
+
+		rejected.sort((first, second) -> Integer.compare(first.index(), second.index()));
+		return new TaskImportResult(imported, rejected);
+	}
+
+	private Set<String> findExistingTitles(Long ownerId, List<String> titles) {
+		Set<String> existingTitles = new HashSet<>();
+		for (int start = 0; start < titles.size(); start += TITLE_LOOKUP_CHUNK_SIZE) {
+			List<String> chunk = titles.subList(start, Math.min(start + TITLE_LOOKUP_CHUNK_SIZE, titles.size()));
+			for (String title : taskRepository.findExistingTitles(ownerId, chunk)) {
+				existingTitles.add(titleKey(title));
+			}
+		}
+		return existingTitles;
+	}
+
+	/**
+	 * Folds a title to the form in which the case- and accent-insensitive collation compares it.
+	 */
+	static String titleKey(String title) {
+		return COMBINING_MARKS.matcher(Normalizer.normalize(title, Normalizer.Form.NFKD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+	}
+}
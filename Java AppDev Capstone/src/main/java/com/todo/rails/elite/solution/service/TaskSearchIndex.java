@@ -0,0 +1,500 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ *
+ * <p>Text is normalized to lower case without diacritics and split into
+ * letter and digit runs. Each term maps to the tasks containing it, weighted
+ * by how often it occurs, with title occurrences counting more. Terms are kept
+ * sorted, so every query term also matches as a prefix with a range lookup.
+ * Results must contain every query term and are ranked by TF-IDF, with exact
+ * term matches ranked above prefix matches.</p>
+ *
+ * <p>Each owner's tasks form a separate partition with its own postings and
+ * document frequencies, so a search only looks at the searching user's tasks.</p>
+ *
+ * <p>The index is built from the database on startup and then kept current by
+ * {@link TaskService} and {@link TaskImportService}. Their changes are applied
+ * only after the surrounding transaction commits, so rolled back writes never
+ * become searchable. The index lives in this process only; every instance
+ * builds its own, and {@link TaskChangeBroadcaster} rebuilds an owner's
+ * partition when another instance changed their tasks.</p>
+ */
+@Service
+public class TaskSearchIndex implements SmartInitializingSingleton {
+
+	/**
+	 * Weight of a term occurrence in the title, relative to one in the description.
+	 */
+	static final int TITLE_WEIGHT = 3;
+
+	/**
+	 * Score multiplier for a query term that matches a whole term rather than only its prefix.
+	 */
+	static final double EXACT_MATCH_BOOST = 2.0;
+
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+	private final TaskRepository taskRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate readOnlyTransaction;
+	private final TransactionTemplate primaryTransaction;
+	private final boolean rebuildOnStartup;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	/**
+	 * The live index partitions by owner id. Guarded by {@link #lock}.
+	 */
+	private Map<Long, Index> current = new HashMap<>();
+
+	/**
+	 * Changes applied while a rebuild is running, replayed onto the rebuilt index. Guarded by {@link #lock}.
+	 */
+	private List<Consumer<Map<Long, Index>>> pendingChanges;
+
+	@Autowired
+	public TaskSearchIndex(
+			TaskRepository taskRepository,
+			EntityManager entityManager,
+			PlatformTransactionManager transactionManager,
+			@Value("${app.search.rebuild-on-startup:true}") boolean rebuildOnStartup
+	) {
+		this.taskRepository = taskRepository;
+		this.entityManager = entityManager;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.primaryTransaction = new TransactionTemplate(transactionManager);
+		this.rebuildOnStartup = rebuildOnStartup;
+	}
+
+	/**
+	 * Builds the index before the application starts serving requests.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (rebuildOnStartup) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * Rebuilds the whole index from the database.
+	 *
+	 * <p>Tasks are streamed into a new index while searches keep using the current
+	 * one. Changes committed in the meantime are replayed onto the new index
+	 * before it replaces the current one; since every change sets a task to its
+	 * latest state, replaying one the stream already saw is harmless.</p>
+	 *
+	 * @return the number of indexed tasks.
+	 */
+	public int rebuild() {
+		Map<Long, Index> rebuilt = rebuild(readOnlyTransaction, taskRepository::streamByOrderByIdAsc, index -> current = index);
+		return size(rebuilt);
+	}
+
+	/**
+	 * Rebuilds the partition of one owner from the primary database.
+	 *
+	 * <p>Used when the owner's tasks were changed by another instance, whose
+	 * changes this index never sees. Works like {@link #rebuild()}, but reads from
+	 * the primary so the change that triggered it is included.</p>
+	 *
+	 * @param ownerId the id of the user whose tasks are indexed again.
+	 * @return the number of indexed tasks of that owner.
+	 */
+	public int rebuild(Long ownerId) {
+		Map<Long, Index> rebuilt = rebuild(
+				primaryTransaction,
+				() -> taskRepository.streamByOwnerIdOrderByIdAsc(ownerId),
+				index -> {
+					Index partition = index.get(ownerId);
+					if (partition == null) {
+						current.remove(ownerId);
+					} else {
+						current.put(ownerId, partition);
+					}
+				}
+		);
+		Index partition = rebuilt.get(ownerId);
+		return partition == null ? 0 : partition.entries.size();
+	}
+
+	/**
+	 * Indexes the current state of some of one owner's tasks, read from the primary database.
+	 *
+	 * <p>Used when another instance changed these tasks; tasks that no longer
+	 * exist are removed. Only the given tasks are read.</p>
+	 *
+	 * @param ownerId the id of the user who owns the tasks; ids of other users' tasks are removed.
+	 * @param ids     the ids of the changed tasks.
+	 */
+	public void refresh(Long ownerId, Collection<Long> ids) {
+		List<Long> changed = List.copyOf(ids);
+		List<Entry> found = new ArrayList<>();
+		primaryTransaction.executeWithoutResult(status -> {
+			for (int start = 0; start < changed.size(); start += TaskService.MAX_BULK_IDS) {
+				List<Long> chunk = changed.subList(start, Math.min(start + TaskService.MAX_BULK_IDS, changed.size()));
+				for (Task task : taskRepository.findByOwnerIdAndIdIn(ownerId, chunk)) {
+					found.add(Entry.of(task));
+					entityManager.detach(task);
+				}
+			}
+		});
+		apply(partitions -> {
+			Index index = partition(partitions, ownerId);
+			changed.forEach(index::remove);
+			found.forEach(index::put);
+		});
+	}
+
+	private Map<Long, Index> rebuild(
+			TransactionTemplate transaction,
+			Supplier<Stream<Task>> source,
+			Consumer<Map<Long, Index>> install
+	) {
+		rebuildLock.lock();
+		try {
+			lock.writeLock().lock();
+			try {
+				pendingChanges = new ArrayList<>();
+			} finally {
+				lock.writeLock().unlock();
+			}
+			Map<Long, Index> rebuilt = new HashMap<>();
+			try {
+				transaction.executeWithoutResult(status -> {
+					try (Stream<Task> tasks = source.get()) {
+						tasks.forEach(task -> {
+							partition(rebuilt, task.getOwnerId()).put(Entry.of(task));
+							entityManager.detach(task);
+						});
+					}
+				});
+			} catch (RuntimeException exception) {
+				lock.writeLock().lock();
+				try {
+					pendingChanges = null;
+				} finally {
+					lock.writeLock().unlock();
+				}
+				throw exception;
+			}
+			lock.writeLock().lock();
+			try {
+				pendingChanges.forEach(change -> change.accept(rebuilt));
+				pendingChanges = null;
+				install.accept(rebuilt);
+				return rebuilt;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	/**
+	 * Finds the tasks of one owner whose title or description contain every term of the query.
+	 *
+	 * @param ownerId the id of the user whose tasks are searched.
+	 * @param query   the search text; each of its terms also matches as a prefix.
+	 * @param limit   the maximum number of results.
+	 * @return the matching {@link TaskSummary} objects, best match first.
+	 */
+	public List<TaskSummary> search(Long ownerId, String query, int limit) {
+		List<String> terms = tokenize(query).stream().distinct().toList();
+		if (terms.isEmpty() || limit < 1) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			Index index = current.get(ownerId);
+			if (index == null) {
+				return List.of();
+			}
+			Map<Long, Double> scores = null;
+			for (String term : terms) {
+				Map<Long, Double> termScores = index.score(term);
+				if (scores == null) {
+					scores = termScores;
+				} else {
+					scores.keySet().retainAll(termScores.keySet());
+					scores.replaceAll((id, score) -> score + termScores.get(id));
+				}
+				if (scores.isEmpty()) {
+					return List.of();
+				}
+			}
+			return scores.entrySet().stream()
+					.sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+							.thenComparing(Map.Entry.comparingByKey()))
+					.limit(limit)
+					.map(match -> index.entries.get(match.getKey()).summary())
+					.toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds a task or replaces its indexed content once the current transaction commits.
+	 *
+	 * @param task the saved {@link Task} with its id and owner set.
+	 */
+	public void index(Task task) {
+		Long ownerId = task.getOwnerId();
+		Entry entry = Entry.of(task);
+		afterCommit(partitions -> partition(partitions, ownerId).put(entry));
+	}
+
+	/**
+	 * Removes a task once the current transaction commits.
+	 *
+	 * @param ownerId the id of the user who owned the task.
+	 * @param task    the deleted {@link Task}, identified by its id.
+	 */
+	public void remove(Long ownerId, Task task) {
+		Long taskId = task.getId();
+		afterCommit(partitions -> partition(partitions, ownerId).remove(taskId));
+	}
+
+	/**
+	 * Removes several tasks once the current transaction commits.
+	 *
+	 * @param ownerId the id of the user who owned the tasks; ids of other users' tasks are ignored.
+	 * @param ids     the ids of the deleted tasks.
+	 */
+	public void removeAll(Long ownerId, Collection<Long> ids) {
+		List<Long> removed = List.copyOf(ids);
+		afterCommit(partitions -> removed.forEach(partition(partitions, ownerId)::remove));
+	}
+
+	/**
+	 * Removes every task of one owner matching a condition once the current transaction commits.
+	 *
+	 * <p>Used for bulk deletes whose ids are not known, with the same condition as the delete statement.</p>
+	 *
+	 * @param ownerId   the id of the user who owned the tasks.
+	 * @param condition selects the deleted tasks.
+	 */
+	public void removeMatching(Long ownerId, Predicate<TaskSummary> condition) {
+		afterCommit(partitions -> {
+			Index index = partition(partitions, ownerId);
+			index.matching(condition).forEach(index::remove);
+		});
+	}
+
+	/**
+	 * Marks several tasks as completed once the current transaction commits.
+	 *
+	 * @param ownerId the id of the user who owns the tasks; ids of other users' tasks are ignored.
+	 * @param ids     the ids of the completed tasks.
+	 */
+	public void completeAll(Long ownerId, Collection<Long> ids) {
+		List<Long> completed = List.copyOf(ids);
+		afterCommit(partitions -> completed.forEach(partition(partitions, ownerId)::complete));
+	}
+
+	/**
+	 * Marks every task of one owner matching a condition as completed once the current transaction commits.
+	 *
+	 * <p>Used for bulk updates whose ids are not known, with the same condition as the update statement.</p>
+	 *
+	 * @param ownerId   the id of the user who owns the tasks.
+	 * @param condition selects the completed tasks.
+	 */
+	public void completeMatching(Long ownerId, Predicate<TaskSummary> condition) {
+		afterCommit(partitions -> {
+			Index index = partition(partitions, ownerId);
+			index.matching(condition).forEach(index::complete);
+		});
+	}
+
+	/**
+	 * Returns the number of indexed tasks.
+	 *
+	 * @return the number of tasks in the live index, over all owners.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size(current);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Splits text into lower-case terms without diacritics.
+	 *
+	 * @param text the text to split, may be {@code null}.
+	 * @return the terms in order of occurrence, including repeats.
+	 */
+	static List<String> tokenize(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT);
+		return TOKEN_SEPARATOR.splitAsStream(normalized)
+				.filter(term -> !term.isEmpty())
+				.toList();
+	}
+
+	private static Index partition(Map<Long, Index> partitions, Long ownerId) {
+		return partitions.computeIfAbsent(ownerId, key -> new Index());
+	}
+
+	private static int size(Map<Long, Index> partitions) {
+		return partitions.values().stream().mapToInt(Index::size).sum();
+	}
+
+	private void afterCommit(Consumer<Map<Long, Index>> change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(change);
+				}
+			});
+		} else {
+			apply(change);
+		}
+	}
+
+	private void apply(Consumer<Map<Long, Index>> change) {
+		lock.writeLock().lock();
+		try {
+			change.accept(current);
+			if (pendingChanges != null) {
+				pendingChanges.add(change);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The indexed content of one task: its summary and the weight of each of its terms.
+	 */
+	private record Entry(TaskSummary summary, Map<String, Integer> weights) {
+
+		static Entry of(Task task) {
+			Map<String, Integer> weights = new HashMap<>();
+			tokenize(task.getTitle()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+			tokenize(task.getDescription()).forEach(term -> weights.merge(term, 1, Integer::sum));
+			TaskSummary summary = new TaskSummary(task.getId(), task.getTitle(), task.isCompleted(), task.getDueDate());
+			return new Entry(summary, Map.copyOf(weights));
+		}
+
+		Entry completed() {
+			return new Entry(new TaskSummary(summary.id(), summary.title(), true, summary.dueDate()), weights);
+		}
+	}
+
+	/**
+	 * The postings and indexed entries. Not thread-safe on its own.
+	 */
+	private static final class Index {
+
+		private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+		private final Map<Long, Entry> entries = new HashMap<>();
+
+		int size() {
+			return entries.size();
+		}
+
+		void put(Entry entry) {
+			Long id = entry.summary().id();
+			remove(id);
+			entries.put(id, entry);
+			entry.weights().forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+		}
+
+		void remove(Long id) {
+			if (id == null) {
+				return;
+			}
+			Entry entry = entries.remove(id);
+			if (entry == null) {
+				return;
+			}
+			for (String term : entry.weights().keySet()) {
+				Map<Long, Integer> posting = postings.get(term);
+				if (posting != null) {
+					posting.remove(id);
+					if (posting.isEmpty()) {
+						postings.remove(term);
+					}
+				}
+			}
+		}
+
+		void complete(Long id) {
+			Entry entry = entries.get(id);
+			if (entry != null && !entry.summary().completed()) {
+				entries.put(id, entry.completed());
+			}
+		}
+
+		List<Long> matching(Predicate<TaskSummary> condition) {
+			return entries.values().stream()
+					.map(Entry::summary)
+					.filter(condition)
+					.map(TaskSummary::id)
+					.toList();
+		}
+
+		/**
+		 * Scores every task containing a term that starts with the given one.
+		 */
+		Map<Long, Double> score(String term) {
+			Map<Long, Double> scores = new HashMap<>();
+			Set<Map.Entry<String, Map<Long, Integer>>> matches =
+					postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet();
+			for (Map.Entry<String, Map<Long, Integer>> match : matches) {
+				Map<Long, Integer> posting = match.getValue();
+				double idf = Math.log(1 + (double) entries.size() / posting.size());
+				double boost = match.getKey().length() == term.length() ? EXACT_MATCH_BOOST : 1.0;
+				posting.forEach((id, weight) -> scores.merge(id, weight * idf * boost, Double::sum));
+			}
+			return scores;
+		}
+	}
+}
@@ -1,15 +1,37 @@
 package com.todo.rails.elite.solution.service;
 
+import com.todo.rails.elite.solution.config.CacheConfig;
 import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskBulkRequest;
+import com.todo.rails.elite.solution.model.dto.TaskCursor;
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.dto.TaskState;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
 import com.todo.rails.elite.solution.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 // TODO 8: reformat code. Use your IDE's formatting tools to ensure consistent indentation and spacing.
 // TODO 9: add method comments. Add method-level comments to explain the purpose and logic of methods.
@@ -22,9 +44,16 @@ import java.util.Optional;
  * {@link TaskRepository} to handle database operations and includes business
  * logic to ensure data integrity.</p>
  *
+ * <p>Every method acts on the tasks of one owner, given as the id of the
+ * authenticated user. Tasks of other users are never read or changed and
+ * behave as if they did not exist.</p>
+ *
+ * <p>Query-only methods run in read-only transactions, which are served by a
+ * read replica when replicas are configured.</p>
+ *
  * <h3>Key Features:</h3>
  * <ul>
- *   <li><strong>Add Task:</strong> Adds a new task to the database, ensuring no duplicate titles.</li>
+ *   <li><strong>Add Task:</strong> Adds a new task to the database, ensuring no duplicate titles per owner.</li>
  *   <li><strong>Retrieve Tasks:</strong> Fetch tasks by ID, title, or retrieve all tasks.
  *       Supports filtering tasks by completion status or due date.</li>
  *   <li><strong>Update Task:</strong> Updates an existing task's details, such as title, description,
@@ -40,48 +69,154 @@ import java.util.Optional;
  * operations are needed. Ensure proper exception handling for the methods.</p>
  */
 @Service
+@Timed(value = "app.service", histogram = true)
 public class TaskService {
 
+	/**
+	 * Largest page size accepted by {@link #getTaskPage(Long, String, int)} and {@link #getTaskSummaryPage(Long, String, int)}.
+	 */
+	public static final int MAX_PAGE_SIZE = 200;
+
+	/**
+	 * Largest number of ids accepted by one bulk operation, which keeps the {@code IN} list bounded.
+	 */
+	public static final int MAX_BULK_IDS = 1000;
+
 	/**
 	 * Repository for task-related database operations.
 	 */
 	private final TaskRepository taskRepository;
 
+	/**
+	 * Validates tasks that are written with bulk statements, which bypass entity validation.
+	 */
+	private final Validator validator;
+
+	/**
+	 * Records every task write for conditional requests on the read endpoints.
+	 */
+	private final TaskChangeTracker taskChangeTracker;
+
+	/**
+	 * Full-text index over task titles and descriptions, updated by every write.
+	 */
+	private final TaskSearchIndex taskSearchIndex;
+
+	/**
+	 * Task counts per owner, changed in the transaction of every write.
+	 */
+	private final TaskCounterService taskCounterService;
+
+	/**
+	 * Publishes a {@link TaskEvent} for every write, which {@link TaskEventStream} pushes to open dashboards.
+	 */
+	private final ApplicationEventPublisher eventPublisher;
+
 	// TODO 16: Log Exceptions. Use SLF4J to log exceptions in the service and controller layers.
 
 	/**
 	 * Constructor for TaskService.
 	 *
 	 * @param taskRepository the {@link TaskRepository} used for database operations.
+	 * @param validator         the {@link Validator} used for tasks updated in place.
+	 * @param taskChangeTracker the {@link TaskChangeTracker} bumped by every write.
+	 * @param taskSearchIndex   the {@link TaskSearchIndex} updated by every write.
+	 * @param taskCounterService the {@link TaskCounterService} updated by every write.
+	 * @param eventPublisher    the {@link ApplicationEventPublisher} notified of every write.
 	 */
 	@Autowired
-	public TaskService(TaskRepository taskRepository) {
+	public TaskService(
+			TaskRepository taskRepository,
+			Validator validator,
+			TaskChangeTracker taskChangeTracker,
+			TaskSearchIndex taskSearchIndex,
+			TaskCounterService taskCounterService,
+			ApplicationEventPublisher eventPublisher
+	) {
 		this.taskRepository = taskRepository;
+		this.validator = validator;
+		this.taskChangeTracker = taskChangeTracker;
+		this.taskSearchIndex = taskSearchIndex;
+		this.taskCounterService = taskCounterService;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
 	 * Adds a new task to the database.
 	 *
-	 * @param task the {@link Task} object to be added.
+	 * <p>The insert is flushed immediately and duplicates are detected by the unique
+	 * constraint on owner and title, so concurrent submissions of the same title cannot
+	 * both succeed and no lookup is needed beforehand.</p>
+	 *
+	 * @param ownerId the id of the user who owns the task.
+	 * @param task    the {@link Task} object to be added. Any id is ignored.
 	 * @return the saved {@link Task} object.
-	 * @throws RuntimeException if a task with the same title already exists.
+	 * @throws RuntimeException                if the owner already has a task with the same title.
+	 * @throws DataIntegrityViolationException if the insert violates any other constraint.
+	 */
+	@Transactional
+	public Task addTask(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Task cannot be null") Task task
+	) throws RuntimeException {
+		// a bound id would make the save merge onto that task, whoever owns it
+		task.setId(null);
+		task.setOwnerId(ownerId);
+		taskCounterService.lock(ownerId);
+		Task savedTask;
+		try {
+			savedTask = taskRepository.saveAndFlush(task);
+		} catch (DataIntegrityViolationException exception) {
+			if (!isDuplicateTitle(exception)) {
+				throw exception;
+			}
+			throw new RuntimeException("Task already exists", exception);
+		}
+		taskCounterService.record(ownerId, null, TaskState.of(savedTask));
+		taskChangeTracker.markChanged(ownerId);
+		taskSearchIndex.index(savedTask);
+		eventPublisher.publishEvent(TaskEvent.of(ownerId, TaskEvent.Type.ADDED, savedTask.getId()));
+		return savedTask;
+	}
+
+	/**
+	 * Tells whether a failed task write violated the unique owner and title key.
+	 *
+	 * <p>Other violations, such as a missing owner, are not duplicates and must not be reported as such.</p>
+	 *
+	 * @param exception the translated exception of the failed write.
+	 * @return {@code true} if the violated constraint is {@link Task#UNIQUE_TITLE}.
 	 */
-	public Task addTask(@NotNull(message = "Task cannot be null") Task task) throws RuntimeException {
-		if (taskRepository.findByTitle(task.getTitle()).isPresent()) {
-			throw new RuntimeException("Task already exists");
+	public static boolean isDuplicateTitle(DataIntegrityViolationException exception) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause instanceof org.hibernate.exception.ConstraintViolationException violation) {
+				// drivers may qualify the name with the table, and some upper-case it
+				String name = violation.getConstraintName();
+				return name != null && name.toLowerCase(Locale.ROOT).contains(Task.UNIQUE_TITLE);
+			}
 		}
-		return taskRepository.save(task);
+		return false;
 	}
 
 	/**
 	 * Retrieves a task by its ID.
 	 *
-	 * @param id the ID of the task to retrieve.
+	 * <p>Results are cached in {@link CacheConfig#TASKS_BY_ID} under owner and id;
+	 * missing tasks are not cached. The returned task is shared with every other
+	 * caller; copy it with {@link Task#Task(Task)} before changing it.</p>
+	 *
+	 * @param ownerId the id of the user who owns the task.
+	 * @param id      the ID of the task to retrieve.
 	 * @return the {@link Task} object with the specified ID.
-	 * @throws RuntimeException if no task is found with the given ID.
+	 * @throws RuntimeException if the owner has no task with the given ID.
 	 */
-	public Task getTaskById(@NotNull(message = "Id cannot be null") Long id) throws RuntimeException {
-		return taskRepository.findById(id)
+	@Cacheable(cacheNames = CacheConfig.TASKS_BY_ID, key = "#ownerId + ':' + #id")
+	@Transactional(readOnly = true)
+	public Task getTaskById(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Id cannot be null") Long id
+	) throws RuntimeException {
+		return taskRepository.findByIdAndOwnerId(id, ownerId)
 				.orElseThrow(
 						() -> new RuntimeException("Task not found")
 				);
@@ -90,117 +225,378 @@ public class TaskService {
 	/**
 	 * Retrieves a task by its title.
 	 *
-	 * @param title the title of the task to retrieve.
+	 * <p>Results are cached in {@link CacheConfig#TASKS_BY_TITLE} under owner and title;
+	 * missing tasks are not cached. The returned task is shared with every other
+	 * caller; copy it with {@link Task#Task(Task)} before changing it.</p>
+	 *
+	 * @param ownerId the id of the user who owns the task.
+	 * @param title   the title of the task to retrieve.
 	 * @return the {@link Task} object with the specified title.
-	 * @throws RuntimeException if no task is found with the given title.
+	 * @throws RuntimeException if the owner has no task with the given title.
 	 */
+	@Cacheable(cacheNames = CacheConfig.TASKS_BY_TITLE, key = "#ownerId + ':' + #title")
+	@Transactional(readOnly = true)
 	public Task getTaskByTitle(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
 			@NotNull(message = "Title cannot be null")
 			@NotBlank(message = "Title cannot be blank")
 			String title
 	) throws RuntimeException {
-		return taskRepository.findByTitle(title)
+		return taskRepository.findByOwnerIdAndTitle(ownerId, title)
 				.orElseThrow(
 						() -> new RuntimeException("Task not found")
 				);
 	}
 
 	/**
-	 * Retrieves all tasks from the database.
+	 * Counts the tasks of one owner.
 	 *
-	 * @return a list of all {@link Task} objects. Returns an empty list if no tasks are found.
+	 * <p>The count is read from the owner's {@link TaskCounterService counters}, not computed from their tasks.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return the number of tasks the owner has.
 	 */
-	public List<Task> getAllTasks() {
-		if (taskRepository.findAll().isEmpty()) {
-			return List.of();
+	@Transactional(readOnly = true)
+	public long countTasks(@NotNull(message = "Owner cannot be null") Long ownerId) {
+		return taskCounterService.getStatistics(ownerId).total();
+	}
+
+	/**
+	 * Retrieves one page of tasks ordered by due date, then id.
+	 *
+	 * <p>Pages are read with keyset pagination: the cursor holds the sort key of
+	 * the last task of the previous page, so each page is an index range scan
+	 * no matter how deep the client has paged.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param after   the encoded {@link TaskCursor} of the previous page, or {@code null} for the first page.
+	 * @param limit   the maximum number of tasks to return, capped at {@link #MAX_PAGE_SIZE}.
+	 * @return the requested {@link TaskPage}.
+	 * @throws IllegalArgumentException if the cursor cannot be decoded.
+	 */
+	@Transactional(readOnly = true)
+	public TaskPage<Task> getTaskPage(Long ownerId, String after, int limit) throws IllegalArgumentException {
+		int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+		// read one extra row to find out whether another page follows
+		Limit fetchLimit = Limit.of(pageSize + 1);
+		List<Task> tasks;
+		if (after == null || after.isBlank()) {
+			tasks = taskRepository.findByOwnerIdOrderByDueDateAscIdAsc(ownerId, fetchLimit);
+		} else {
+			TaskCursor cursor = TaskCursor.decode(after);
+			tasks = taskRepository.findPageAfter(ownerId, cursor.dueDate(), cursor.id(), fetchLimit);
 		}
-		return taskRepository.findAll();
+		return toPage(tasks, pageSize, TaskCursor::after);
+	}
+
+	/**
+	 * Retrieves one page of task summaries ordered by due date, then id.
+	 *
+	 * <p>Works like {@link #getTaskPage(Long, String, int)}, but reads only the listed
+	 * columns into {@link TaskSummary} records instead of loading entities.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @param after   the encoded {@link TaskCursor} of the previous page, or {@code null} for the first page.
+	 * @param limit   the maximum number of tasks to return, capped at {@link #MAX_PAGE_SIZE}.
+	 * @return the requested {@link TaskPage}.
+	 * @throws IllegalArgumentException if the cursor cannot be decoded.
+	 */
+	@Transactional(readOnly = true)
+	public TaskPage<TaskSummary> getTaskSummaryPage(Long ownerId, String after, int limit) throws IllegalArgumentException {
+		int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+		Limit fetchLimit = Limit.of(pageSize + 1);
+		List<TaskSummary> tasks;
+		if (after == null || after.isBlank()) {
+			tasks = taskRepository.findSummaryPage(ownerId, fetchLimit);
+		} else {
+			TaskCursor cursor = TaskCursor.decode(after);
+			tasks = taskRepository.findSummaryPageAfter(ownerId, cursor.dueDate(), cursor.id(), fetchLimit);
+		}
+		return toPage(tasks, pageSize, TaskCursor::after);
+	}
+
+	private static <T> TaskPage<T> toPage(List<T> tasks, int pageSize, Function<T, TaskCursor> cursorOf) {
+		if (tasks.size() <= pageSize) {
+			return new TaskPage<>(tasks, null);
+		}
+		List<T> page = tasks.subList(0, pageSize);
+		return new TaskPage<>(List.copyOf(page), cursorOf.apply(page.getLast()).encode());
 	}
 
 	/**
 	 * Updates an existing task.
 	 *
-	 * @param task the {@link Task} object with updated details.
-	 * @return the updated {@link Task} object.
-	 * @throws RuntimeException if no task is found with the given title.
+	 * <p>The task is identified by its owner and title, and also by its id when one is given.
+	 * It is updated with a single statement, without loading it first; the row
+	 * count tells whether it exists. When the id is unknown, it is looked up by
+	 * title first and set on the given task, since caches, the search index and
+	 * change events all identify tasks by id.</p>
+	 *
+	 * <p>If the owner is counted, the previous status and due date are read first,
+	 * while the owner's counters are locked, so the counters can be adjusted.</p>
+	 *
+	 * @param ownerId the id of the user who owns the task.
+	 * @param task    the {@link Task} object with updated details.
+	 * @return the given {@link Task} object.
+	 * @throws ConstraintViolationException if the task is not valid.
+	 * @throws RuntimeException             if the owner has no task with the given title.
 	 */
-	public Task updateTask(@NotNull(message = "Task cannot be null") Task task) throws RuntimeException {
-		// TODO 10: use meaningful names. Rename variables and methods for clarity. Ex - taskByTitle can be refactored to existingTask.
-		Optional<Task> existingTask = taskRepository.findByTitle(task.getTitle());
-		if (existingTask.isEmpty()) {
+	@Caching(evict = {
+			// evaluated after the call, when the id has been looked up
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_ID, key = "#ownerId + ':' + #task.id"),
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_TITLE, key = "#ownerId + ':' + #task.title")
+	})
+	@Transactional
+	public Task updateTask(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Task cannot be null") Task task
+	) throws RuntimeException {
+		Set<ConstraintViolation<Task>> violations = validator.validate(task);
+		if (!violations.isEmpty()) {
+			throw new ConstraintViolationException(violations);
+		}
+		task.setOwnerId(ownerId);
+		boolean counted = taskCounterService.lock(ownerId);
+		if (task.getId() == null) {
+			task.setId(taskRepository.findIdByTitle(ownerId, task.getTitle())
+					.orElseThrow(() -> new RuntimeException("Task not found")));
+		}
+		Optional<TaskState> previous = counted
+				? taskRepository.findStateByTitle(ownerId, task.getTitle(), task.getId())
+				: Optional.empty();
+		int updatedRows = taskRepository.updateByTitle(
+				ownerId, task.getTitle(), task.getId(), task.getDescription(), task.isCompleted(), task.getDueDate(), Instant.now()
+		);
+		if (updatedRows == 0) {
 			throw new RuntimeException("Task not found");
 		}
-		Task taskToUpdate = existingTask.get();
-		taskToUpdate.setTitle(task.getTitle());
-		taskToUpdate.setDescription(task.getDescription());
-		taskToUpdate.setCompleted(task.isCompleted());
-		taskToUpdate.setDueDate(task.getDueDate());
-		return taskRepository.save(taskToUpdate);
+		previous.ifPresent(state -> taskCounterService.record(ownerId, state, TaskState.of(task)));
+		taskChangeTracker.markChanged(ownerId);
+		taskSearchIndex.index(task);
+		eventPublisher.publishEvent(TaskEvent.of(ownerId, TaskEvent.Type.UPDATED, task.getId()));
+		return task;
+	}
+
+	/**
+	 * Marks a task as completed with a single statement.
+	 *
+	 * <p>Only the status is written, so other fields of a stale copy of the task are
+	 * never written back, and a task that is already overdue can still be completed.</p>
+	 *
+	 * @param ownerId the id of the user who owns the task.
+	 * @param task    the {@link Task} to complete, identified by its id.
+	 * @return {@code true} if the task was pending and is now completed.
+	 */
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_ID, key = "#ownerId + ':' + #task.id"),
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_TITLE, key = "#ownerId + ':' + #task.title")
+	})
+	@Transactional
+	public boolean completeTask(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Task cannot be null") Task task
+	) {
+		Optional<TaskState> previous = taskCounterService.lock(ownerId)
+				? taskRepository.findStateByTitle(ownerId, task.getTitle(), task.getId())
+				: Optional.empty();
+		if (taskRepository.completeByIdIn(ownerId, List.of(task.getId()), Instant.now()) == 0) {
+			return false;
+		}
+		previous.ifPresent(state -> taskCounterService.record(ownerId, state, new TaskState(true, state.dueDate())));
+		taskChangeTracker.markChanged(ownerId);
+		taskSearchIndex.completeAll(ownerId, List.of(task.getId()));
+		eventPublisher.publishEvent(TaskEvent.of(ownerId, TaskEvent.Type.COMPLETED, task.getId()));
+		return true;
 	}
 
 	/**
 	 * Deletes a task from the database.
 	 *
-	 * @param task the {@link Task} object to be deleted.
-	 * @throws RuntimeException if no task is found with the given title.
+	 * @param ownerId the id of the user who owns the task.
+	 * @param task    the {@link Task} object to be deleted.
+	 * @throws RuntimeException if the owner has no task with the given title.
 	 */
-	public void deleteTask(@NotNull(message = "Task cannot be null") Task task) throws RuntimeException {
-		Optional<Task> taskByTitle = taskRepository.findByTitle(task.getTitle());
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_ID, key = "#ownerId + ':' + #task.id", condition = "#task.id != null"),
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_TITLE, key = "#ownerId + ':' + #task.title")
+	})
+	@Transactional
+	public void deleteTask(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Task cannot be null") Task task
+	) throws RuntimeException {
+		taskCounterService.lock(ownerId);
+		Optional<Task> taskByTitle = taskRepository.findByOwnerIdAndTitle(ownerId, task.getTitle());
 		if (taskByTitle.isEmpty()) {
 			throw new RuntimeException("Task not found");
 		}
-		taskRepository.delete(task);
+		taskRepository.delete(taskByTitle.get());
+		taskCounterService.record(ownerId, TaskState.of(taskByTitle.get()), null);
+		taskChangeTracker.markChanged(ownerId);
+		taskSearchIndex.remove(ownerId, taskByTitle.get());
+		eventPublisher.publishEvent(TaskEvent.of(ownerId, TaskEvent.Type.DELETED, taskByTitle.get().getId()));
 	}
 
 	/**
-	 * Retrieves all pending tasks (tasks not marked as completed).
+	 * Marks several tasks as completed with a single statement.
 	 *
-	 * @return a list of pending {@link Task} objects. Returns an empty list if no pending tasks are found.
+	 * <p>Both task caches are cleared, since the affected tasks are not loaded.</p>
+	 *
+	 * @param ownerId the id of the user whose tasks are completed; ids of other users' tasks are ignored.
+	 * @param request selects the tasks by id or as all overdue tasks.
+	 * @return the number of tasks that were pending and are now completed.
+	 * @throws IllegalArgumentException if the request does not hold exactly one selector,
+	 *                                  holds more than {@link #MAX_BULK_IDS} ids, or selects completed tasks.
 	 */
-	public List<Task> getPendingTasks() {
-		List<Task> allTasks = getAllTasks();
-		if (allTasks.isEmpty()) {
-			return List.of();
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_ID, allEntries = true),
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_TITLE, allEntries = true)
+	})
+	@Transactional
+	public int completeTasks(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Request cannot be null") TaskBulkRequest request
+	) throws IllegalArgumentException {
+		checkBulkRequest(request);
+		boolean counted = taskCounterService.lock(ownerId);
+		int completed;
+		if (request.ids() != null) {
+			completed = request.ids().isEmpty() ? 0 : taskRepository.completeByIdIn(ownerId, request.ids(), Instant.now());
+			taskSearchIndex.completeAll(ownerId, request.ids());
+		} else if (request.overdue()) {
+			LocalDate today = LocalDate.now();
+			completed = taskRepository.completeOverdue(ownerId, today, Instant.now());
+			taskSearchIndex.completeMatching(ownerId, task -> !task.completed() && task.dueDate().isBefore(today));
+		} else {
+			throw new IllegalArgumentException("Completed tasks cannot be completed again");
+		}
+		if (completed > 0) {
+			if (counted) {
+				taskCounterService.recount(ownerId);
+			}
+			taskChangeTracker.markChanged(ownerId);
+			eventPublisher.publishEvent(new TaskEvent(ownerId, TaskEvent.Type.COMPLETED, idsOf(request), completed));
 		}
-		return allTasks.stream()
-				.filter(task -> !task.isCompleted())
-				.toList();
+		return completed;
 	}
 
-
 	/**
-	 * Retrieves all completed tasks.
+	 * Deletes several tasks with a single statement.
+	 *
+	 * <p>Both task caches are cleared, since the affected tasks are not loaded.</p>
 	 *
-	 * @return a list of completed {@link Task} objects. Returns an empty list if no completed tasks are found.
+	 * @param ownerId the id of the user whose tasks are deleted; ids of other users' tasks are ignored.
+	 * @param request selects the tasks by id, as all overdue tasks, or as completed tasks due before a date.
+	 * @return the number of deleted tasks.
+	 * @throws IllegalArgumentException if the request does not hold exactly one selector
+	 *                                  or holds more than {@link #MAX_BULK_IDS} ids.
 	 */
-	public List<Task> getCompletedTasks() {
-		List<Task> allTasks = getAllTasks();
-		if (allTasks.isEmpty()) {
-			return List.of();
+	@Caching(evict = {
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_ID, allEntries = true),
+			@CacheEvict(cacheNames = CacheConfig.TASKS_BY_TITLE, allEntries = true)
+	})
+	@Transactional
+	public int deleteTasks(
+			@NotNull(message = "Owner cannot be null") Long ownerId,
+			@NotNull(message = "Request cannot be null") TaskBulkRequest request
+	) throws IllegalArgumentException {
+		checkBulkRequest(request);
+		boolean counted = taskCounterService.lock(ownerId);
+		int deleted;
+		if (request.ids() != null) {
+			deleted = request.ids().isEmpty() ? 0 : taskRepository.deleteByIdIn(ownerId, request.ids());
+			taskSearchIndex.removeAll(ownerId, request.ids());
+		} else if (request.overdue()) {
+			LocalDate today = LocalDate.now();
+			deleted = taskRepository.deleteOverdue(ownerId, today);
+			taskSearchIndex.removeMatching(ownerId, task -> !task.completed() && task.dueDate().isBefore(today));
+		} else {
+			LocalDate date = request.completedBefore();
+			deleted = taskRepository.deleteCompletedDueBefore(ownerId, date);
+			taskSearchIndex.removeMatching(ownerId, task -> task.completed() && task.dueDate().isBefore(date));
+		}
+		if (deleted > 0) {
+			if (counted) {
+				taskCounterService.recount(ownerId);
+			}
+			taskChangeTracker.markChanged(ownerId);
+			eventPublisher.publishEvent(new TaskEvent(ownerId, TaskEvent.Type.DELETED, idsOf(request), deleted));
 		}
-		return allTasks.stream()
-				.filter(Task::isCompleted)
-				.toList();
+		return deleted;
 	}
 
 	/**
-	 * Retrieves all tasks due today.
+	 * Searches task titles and descriptions.
 	 *
-	 * @return a list of {@link Task} objects due today. Returns an empty list if no tasks are due today.
+	 * <p>The search runs against the in-memory {@link TaskSearchIndex}, so it
+	 * costs no query no matter how many tasks are stored.</p>
+	 *
+	 * @param ownerId the id of the user whose tasks are searched.
+	 * @param query   the search text; each term also matches as a prefix.
+	 * @param limit   the maximum number of results, capped at {@link #MAX_PAGE_SIZE}.
+	 * @return the matching {@link TaskSummary} objects, best match first.
 	 */
-	public List<Task> getTodayTasks() {
-		List<Task> allTasks = getAllTasks();
-		if (allTasks.isEmpty()) {
-			return List.of();
+	public List<TaskSummary> searchTasks(Long ownerId, String query, int limit) {
+		return taskSearchIndex.search(ownerId, query, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+	}
+
+	private static void checkBulkRequest(TaskBulkRequest request) throws IllegalArgumentException {
+		int selectors = (request.ids() != null ? 1 : 0)
+				+ (request.overdue() ? 1 : 0)
+				+ (request.completedBefore() != null ? 1 : 0);
+		if (selectors != 1) {
+			throw new IllegalArgumentException("Exactly one of ids, overdue or completedBefore is required");
 		}
-		return allTasks.stream()
-				.filter(
-						task -> !task.isCompleted()
-				)
-				.filter(
-						task -> task.getDueDate()
-								.isEqual(LocalDate.now())
-				)
-				.toList();
+		if (request.ids() != null && request.ids().size() > MAX_BULK_IDS) {
+			throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " ids can be changed at once");
+		}
+	}
+
+	// tasks selected by a condition are not loaded, so their ids are unknown
+	private static List<Long> idsOf(TaskBulkRequest request) {
+		return request.ids() != null ? List.copyOf(request.ids()) : List.of();
+	}
+
+	/**
+	 * Retrieves all pending tasks (tasks not marked as completed).
+	 *
+	 * <p>The filter runs in the database, backed by the {@code (user_id, completed, due_date)} index,
+	 * and only the summary columns are read.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return a list of pending {@link TaskSummary} objects. Returns an empty list if no pending tasks are found.
+	 */
+	@Transactional(readOnly = true)
+	public List<TaskSummary> getPendingTasks(Long ownerId) {
+		return taskRepository.findSummariesByCompleted(ownerId, false);
+	}
+
+
+	/**
+	 * Retrieves all completed tasks.
+	 *
+	 * <p>The filter runs in the database, backed by the {@code (user_id, completed, due_date)} index,
+	 * and only the summary columns are read.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return a list of completed {@link TaskSummary} objects. Returns an empty list if no completed tasks are found.
+	 */
+	@Transactional(readOnly = true)
+	public List<TaskSummary> getCompletedTasks(Long ownerId) {
+		return taskRepository.findSummariesByCompleted(ownerId, true);
+	}
+
+	/**
+	 * Retrieves all pending tasks due today.
+	 *
+	 * <p>The filter runs in the database, backed by the {@code (user_id, completed, due_date)} index,
+	 * and only the summary columns are read.</p>
+	 *
+	 * @param ownerId the id of the owning user.
+	 * @return a list of {@link TaskSummary} objects due today. Returns an empty list if no tasks are due today.
+	 */
+	@Transactional(readOnly = true)
+	public List<TaskSummary> getTodayTasks(Long ownerId) {
+		return taskRepository.findSummariesByCompletedAndDueDate(ownerId, false, LocalDate.now());
 	}
 }
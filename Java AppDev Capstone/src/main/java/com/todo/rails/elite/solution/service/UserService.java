@@ -1,25 +1,37 @@
 package com.todo.rails.elite.solution.service;
 
+import com.todo.rails.elite.solution.config.CacheConfig;
 import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.UserSummary;
 import com.todo.rails.elite.solution.repository.UserRepository;
+import com.todo.rails.elite.solution.service.security.PasswordHashingService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 public class UserService {
 	private final UserRepository userRepository;
-	private final BCryptPasswordEncoder passwordEncoder;
+	private final PasswordHashingService passwordHashingService;
+	private final TaskCounterService taskCounterService;
 
 	@Autowired
-	public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+	public UserService(
+			UserRepository userRepository,
+			PasswordHashingService passwordHashingService,
+			TaskCounterService taskCounterService
+	) {
 		this.userRepository = userRepository;
-		this.passwordEncoder = passwordEncoder;
+		this.passwordHashingService = passwordHashingService;
+		this.taskCounterService = taskCounterService;
 	}
 
 	// add a user
@@ -32,11 +44,16 @@ public class UserService {
 		}
 		String password = user.getPassword();
 		// TODO 7: enable password encoder in user service
-		user.setPassword(passwordEncoder.encode(password));
-		return userRepository.save(user);
+		// hashed on the bounded hashing pool; throws ServiceOverloadedException when it is saturated
+		user.setPassword(passwordHashingService.encode(password));
+		User savedUser = userRepository.save(user);
+		// users left without counters, e.g. by a crash right here, get them at the next reconciliation
+		taskCounterService.create(savedUser.getId());
+		return savedUser;
 	}
 
 	// get a user by username
+	@Transactional(readOnly = true)
 	public User getUserByUsername(
 			@NotNull(message = "Username cannot be null")
 			@NotBlank(message = "Username cannot be blank")
@@ -49,6 +66,7 @@ public class UserService {
 	}
 
 	// get a user by email
+	@Transactional(readOnly = true)
 	public User getUserByEmail(
 			@NotNull(message = "Email cannot be null")
 			@NotBlank(message = "Email cannot be blank")
@@ -62,6 +80,7 @@ public class UserService {
 	}
 
 	// get a user by id
+	@Transactional(readOnly = true)
 	public User getUserById(
 			@NotNull(message = "Id cannot be null")
 			Long id
@@ -72,7 +91,8 @@ public class UserService {
 				);
 	}
 
-	// update a user
+	// update a user and drop its cached login details
+	@CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#user.username")
 	public User updateUser(@NotNull(message = "User cannot be null") User user) {
 		if (userRepository.findByUsername(user.getUsername()).isEmpty()) {
 			throw new RuntimeException("User not found");
@@ -80,7 +100,14 @@ public class UserService {
 		return userRepository.save(user);
 	}
 
-	// delete a user
+	// replace an already hashed password unless it was changed meanwhile, and drop its cached login details
+	@CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#username")
+	public boolean updatePasswordHash(String username, String currentHash, String newHash) {
+		return userRepository.updatePasswordIfUnchanged(username, currentHash, newHash) == 1;
+	}
+
+	// delete a user and drop its cached login details
+	@CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#user.username")
 	public void deleteUser(@NotNull(message = "User cannot be null") User user) {
 		if (userRepository.findByUsername(user.getUsername()).isEmpty()) {
 			throw new RuntimeException("User not found");
@@ -88,10 +115,13 @@ public class UserService {
 		userRepository.delete(user);
 	}
 
-	public List<User> getAllUsers() {
-		if (userRepository.findAll().isEmpty()) {
+	// get every user without the password hash
+	@Transactional(readOnly = true)
+	public List<UserSummary> getAllUsers() {
+		List<UserSummary> users = userRepository.findAllSummaries();
+		if (users.isEmpty()) {
 			throw new RuntimeException("No users found");
 		}
-		return userRepository.findAll();
+		return users;
 	}
 }
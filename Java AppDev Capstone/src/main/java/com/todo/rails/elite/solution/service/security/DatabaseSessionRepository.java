@@ -0,0 +1,311 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todo.rails.elite.solution.model.StoredSession;
+import com.todo.rails.elite.solution.repository.StoredSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps HTTP sessions in the application database, with an in-process near-cache in front of it.
+ *
+ * <p>Writes are lazy. The attributes are serialized and written only when one of
+ * them was set or removed during the request. A request that only reads the
+ * session extends it in the database at most once per touch interval, so a
+ * session may expire up to that interval early on nodes that have not seen its
+ * latest requests.</p>
+ *
+ * <p>Every session a node loads or saves is kept in its near-cache for a short
+ * time, so the bursts of requests behind one page view usually read the database
+ * once. Each request gets its own copy of the cached session. A session changed
+ * or invalidated on another node may be seen in its previous state here until
+ * the entry expires; sessions saved or deleted on this node are updated in its
+ * cache right away.</p>
+ *
+ * <p>Expired sessions are deleted by {@link #cleanUpExpiredSessions()} in small
+ * batches, each in a transaction of its own, so the cleanup never holds locks on
+ * many rows at once.</p>
+ */
+public class DatabaseSessionRepository implements SessionRepository<DatabaseSessionRepository.DatabaseSession> {
+
+	private static final Logger log = LoggerFactory.getLogger(DatabaseSessionRepository.class);
+
+	private final StoredSessionRepository storedSessionRepository;
+	private final Duration maxInactiveInterval;
+	private final Duration touchInterval;
+	private final int cleanupBatchSize;
+	private final Cache<String, CachedSession> nearCache;
+	private final SerializingConverter serializer = new SerializingConverter();
+	private final DeserializingConverter deserializer = new DeserializingConverter(getClass().getClassLoader());
+
+	/**
+	 * Constructor for DatabaseSessionRepository.
+	 *
+	 * @param storedSessionRepository the {@link StoredSessionRepository} holding the sessions.
+	 * @param meterRegistry           the registry the near-cache reports its {@code cache.*} metrics to.
+	 * @param maxInactiveInterval     how long new sessions live without requests.
+	 * @param nearCacheTtl            how long a node serves a session from memory; zero disables the near-cache.
+	 * @param touchInterval           how long a read-only request may leave the stored access time unchanged.
+	 * @param cleanupBatchSize        the number of expired sessions deleted per statement.
+	 */
+	public DatabaseSessionRepository(
+			StoredSessionRepository storedSessionRepository,
+			MeterRegistry meterRegistry,
+			Duration maxInactiveInterval,
+			Duration nearCacheTtl,
+			Duration touchInterval,
+			int cleanupBatchSize
+	) {
+		this.storedSessionRepository = storedSessionRepository;
+		this.maxInactiveInterval = maxInactiveInterval;
+		this.touchInterval = touchInterval;
+		this.cleanupBatchSize = cleanupBatchSize;
+		this.nearCache = Caffeine.newBuilder()
+				.expireAfterWrite(nearCacheTtl)
+				.maximumSize(nearCacheTtl.isZero() ? 0 : 100_000)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "sessions");
+	}
+
+	@Override
+	public DatabaseSession createSession() {
+		MapSession session = new MapSession();
+		session.setMaxInactiveInterval(maxInactiveInterval);
+		return new DatabaseSession(session, null, null);
+	}
+
+	@Override
+	public void save(DatabaseSession session) {
+		MapSession delegate = session.delegate;
+		String id = delegate.getId();
+		Instant lastAccessedTime = delegate.getLastAccessedTime();
+		Instant expiryTime = lastAccessedTime.plus(delegate.getMaxInactiveInterval());
+		long maxInactiveSeconds = delegate.getMaxInactiveInterval().toSeconds();
+		Instant storedAccessTime = session.storedAccessTime;
+		int updatedRows = 1;
+		if (session.storedId == null) {
+			storedSessionRepository.insert(
+					id, delegate.getCreationTime(), lastAccessedTime, maxInactiveSeconds, expiryTime, serialize(delegate)
+			);
+			storedAccessTime = lastAccessedTime;
+		} else {
+			if (!id.equals(session.storedId)) {
+				// the old id must stop working everywhere at once, e.g. after a login
+				nearCache.invalidate(session.storedId);
+				updatedRows = storedSessionRepository.changeId(session.storedId, id);
+			}
+			if (updatedRows > 0 && session.changed) {
+				updatedRows = storedSessionRepository.update(
+						id, lastAccessedTime, maxInactiveSeconds, expiryTime, serialize(delegate)
+				);
+				storedAccessTime = lastAccessedTime;
+			} else if (updatedRows > 0 && !lastAccessedTime.isBefore(storedAccessTime.plus(touchInterval))) {
+				updatedRows = storedSessionRepository.touch(id, lastAccessedTime, expiryTime);
+				storedAccessTime = lastAccessedTime;
+			}
+		}
+		if (updatedRows == 0) {
+			// deleted on another node, e.g. by a logout; do not bring it back
+			nearCache.invalidate(id);
+			return;
+		}
+		session.stored(storedAccessTime);
+		nearCache.put(id, new CachedSession(new MapSession(delegate), storedAccessTime));
+	}
+
+	@Override
+	public DatabaseSession findById(String id) {
+		CachedSession cached = nearCache.getIfPresent(id);
+		// another node may have extended a session that looks expired here
+		if (cached == null || cached.session().isExpired()) {
+			cached = storedSessionRepository.findById(id).flatMap(this::toCachedSession).orElse(null);
+			if (cached == null) {
+				nearCache.invalidate(id);
+				return null;
+			}
+			if (cached.session().isExpired()) {
+				deleteById(id);
+				return null;
+			}
+			nearCache.put(id, cached);
+		}
+		return new DatabaseSession(new MapSession(cached.session()), id, cached.storedAccessTime());
+	}
+
+	@Override
+	public void deleteById(String id) {
+		nearCache.invalidate(id);
+		storedSessionRepository.deleteSession(id);
+	}
+
+	/**
+	 * Deletes expired sessions in batches of the configured size until none are left.
+	 *
+	 * @return the number of deleted sessions.
+	 */
+	@Scheduled(fixedDelayString = "${app.session.cleanup-interval:PT1M}")
+	public int cleanUpExpiredSessions() {
+		Instant now = Instant.now();
+		int deleted = 0;
+		List<String> expiredIds;
+		do {
+			expiredIds = storedSessionRepository.findExpiredIds(now, Limit.of(cleanupBatchSize));
+			if (!expiredIds.isEmpty()) {
+				deleted += storedSessionRepository.deleteExpired(expiredIds, now);
+			}
+		} while (expiredIds.size() == cleanupBatchSize);
+		if (deleted > 0) {
+			log.debug("Deleted {} expired sessions", deleted);
+		}
+		return deleted;
+	}
+
+	private Optional<CachedSession> toCachedSession(StoredSession stored) {
+		Map<String, Object> attributes;
+		try {
+			@SuppressWarnings("unchecked")
+			Map<String, Object> deserialized = (Map<String, Object>) deserializer.convert(stored.getAttributes());
+			attributes = deserialized;
+		} catch (SerializationFailedException exception) {
+			// e.g. written by a release whose classes have changed since; the user signs in again
+			log.warn("Discarding session that cannot be deserialized", exception);
+			storedSessionRepository.deleteSession(stored.getId());
+			return Optional.empty();
+		}
+		MapSession session = new MapSession(stored.getId());
+		session.setCreationTime(stored.getCreationTime());
+		session.setLastAccessedTime(stored.getLastAccessedTime());
+		session.setMaxInactiveInterval(Duration.ofSeconds(stored.getMaxInactiveSeconds()));
+		attributes.forEach(session::setAttribute);
+		return Optional.of(new CachedSession(session, stored.getLastAccessedTime()));
+	}
+
+	private byte[] serialize(MapSession session) {
+		HashMap<String, Object> attributes = new HashMap<>();
+		for (String name : session.getAttributeNames()) {
+			attributes.put(name, session.getAttribute(name));
+		}
+		return serializer.convert(attributes);
+	}
+
+	/**
+	 * A session as loaded from or last written to the database.
+	 *
+	 * @param session          the session; never handed out, only copied.
+	 * @param storedAccessTime the access time the database holds for it.
+	 */
+	private record CachedSession(MapSession session, Instant storedAccessTime) {
+	}
+
+	/**
+	 * The session of one request, which records whether it needs to be written back.
+	 */
+	public static final class DatabaseSession implements Session {
+
+		private final MapSession delegate;
+
+		/**
+		 * The id the session is stored under, or {@code null} if it has not been stored yet.
+		 */
+		private String storedId;
+
+		private Instant storedAccessTime;
+
+		private boolean changed;
+
+		private DatabaseSession(MapSession delegate, String storedId, Instant storedAccessTime) {
+			this.delegate = delegate;
+			this.storedId = storedId;
+			this.storedAccessTime = storedAccessTime;
+		}
+
+		private void stored(Instant accessTime) {
+			storedId = delegate.getId();
+			storedAccessTime = accessTime;
+			changed = false;
+		}
+
+		@Override
+		public String getId() {
+			return delegate.getId();
+		}
+
+		@Override
+		public String changeSessionId() {
+			return delegate.changeSessionId();
+		}
+
+		@Override
+		public <T> T getAttribute(String attributeName) {
+			return delegate.getAttribute(attributeName);
+		}
+
+		@Override
+		public Set<String> getAttributeNames() {
+			return delegate.getAttributeNames();
+		}
+
+		@Override
+		public void setAttribute(String attributeName, Object attributeValue) {
+			delegate.setAttribute(attributeName, attributeValue);
+			changed = true;
+		}
+
+		@Override
+		public void removeAttribute(String attributeName) {
+			delegate.removeAttribute(attributeName);
+			changed = true;
+		}
+
+		@Override
+		public Instant getCreationTime() {
+			return delegate.getCreationTime();
+		}
+
+		@Override
+		public void setLastAccessedTime(Instant lastAccessedTime) {
+			delegate.setLastAccessedTime(lastAccessedTime);
+		}
+
+		@Override
+		public Instant getLastAccessedTime() {
+			return delegate.getLastAccessedTime();
+		}
+
+		@Override
+		public void setMaxInactiveInterval(Duration interval) {
+			delegate.setMaxInactiveInterval(interval);
+			changed = true;
+		}
+
+		@Override
+		public Duration getMaxInactiveInterval() {
+			return delegate.getMaxInactiveInterval();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return delegate.isExpired();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.config.SecurityConfig;
+import com.todo.rails.elite.solution.exception.ServiceOverloadedException;
+import com.todo.rails.elite.solution.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Re-hashes stored passwords whose BCrypt cost differs from
+ * {@link SecurityConfig#PASSWORD_ENCODER_STRENGTH}.
+ *
+ * <p>Spring Security's built-in upgrade runs inside the login request and only
+ * raises the cost. Here the new hash is computed on the
+ * {@link PasswordHashingService} pool after the login has succeeded, so the
+ * strength can be lowered or raised without adding latency to logins or
+ * forcing password resets. Every attempt is counted in
+ * {@code auth.password.rehash}, tagged with its result.</p>
+ */
+@Service
+public class JpaUserDetailsPasswordService implements UserDetailsPasswordService {
+
+	private static final Logger log = LoggerFactory.getLogger(JpaUserDetailsPasswordService.class);
+
+	private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+	private final UserService userService;
+	private final UserDetailsService userDetailsService;
+	private final PasswordHashingService passwordHashingService;
+	private final MeterRegistry meterRegistry;
+
+	@Autowired
+	public JpaUserDetailsPasswordService(
+			UserService userService,
+			UserDetailsService userDetailsService,
+			PasswordHashingService passwordHashingService,
+			MeterRegistry meterRegistry
+	) {
+		this.userService = userService;
+		this.userDetailsService = userDetailsService;
+		this.passwordHashingService = passwordHashingService;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Reads the cost factor from a BCrypt hash.
+	 *
+	 * @param hash the stored password hash.
+	 * @return the cost, or {@code -1} if the value is not a BCrypt hash.
+	 */
+	public static int bcryptCost(String hash) {
+		if (hash == null) {
+			return -1;
+		}
+		Matcher matcher = BCRYPT_PREFIX.matcher(hash);
+		return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+	}
+
+	/**
+	 * Tells whether the stored hash was made with a different cost than the configured strength.
+	 *
+	 * @param user the authenticated user.
+	 * @return {@code true} if the password should be re-hashed.
+	 */
+	public boolean needsUpgrade(UserDetails user) {
+		int cost = bcryptCost(user.getPassword());
+		return cost > 0 && cost != SecurityConfig.PASSWORD_ENCODER_STRENGTH;
+	}
+
+	/**
+	 * Re-hashes the password in the background if its cost differs from the configured strength.
+	 *
+	 * <p>Never blocks and never throws: if the hashing pool is saturated the upgrade
+	 * is skipped and retried on a later login.</p>
+	 *
+	 * @param user        the authenticated user, holding the current hash.
+	 * @param rawPassword the password the user just logged in with.
+	 * @return a future completed with {@code true} if the stored hash was replaced.
+	 */
+	public CompletableFuture<Boolean> upgradeEncodingAsync(UserDetails user, CharSequence rawPassword) {
+		if (!needsUpgrade(user)) {
+			return CompletableFuture.completedFuture(false);
+		}
+		String username = user.getUsername();
+		String currentHash = user.getPassword();
+		try {
+			return passwordHashingService.encodeAsync(rawPassword)
+					.thenApply(newHash -> userService.updatePasswordHash(username, currentHash, newHash))
+					.handle((updated, exception) -> {
+						if (exception != null) {
+							log.warn("Could not upgrade password hash for user {}", username, exception);
+							countRehash("failed");
+							return false;
+						}
+						// false means the password changed concurrently, so the new hash was discarded
+						countRehash(updated ? "upgraded" : "conflict");
+						return updated;
+					});
+		} catch (ServiceOverloadedException exception) {
+			countRehash("skipped");
+			return CompletableFuture.completedFuture(false);
+		}
+	}
+
+	/**
+	 * Stores an already computed hash and returns the reloaded user.
+	 */
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		userService.updatePasswordHash(user.getUsername(), user.getPassword(), newPassword);
+		return userDetailsService.loadUserByUsername(user.getUsername());
+	}
+
+	private void countRehash(String result) {
+		meterRegistry.counter("auth.password.rehash", "result", result).increment();
+	}
+}
@@ -1,8 +1,10 @@
 package com.todo.rails.elite.solution.service.security;
 
+import com.todo.rails.elite.solution.config.CacheConfig;
 import com.todo.rails.elite.solution.model.security.SecurityUser;
 import com.todo.rails.elite.solution.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -18,7 +20,15 @@ public class JpaUserDetailsService implements UserDetailsService {
 		this.userRepository = userRepository;
 	}
 
+	/**
+	 * Loads the user for authentication.
+	 *
+	 * <p>Results are cached in {@link CacheConfig#USER_DETAILS} so repeated logins
+	 * skip the database and the role parsing. {@link com.todo.rails.elite.solution.service.UserService}
+	 * evicts the entry whenever the user is updated or deleted.</p>
+	 */
 	@Override
+	@Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#username")
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		return userRepository.findByUsername(username)
 				.map(SecurityUser::new)
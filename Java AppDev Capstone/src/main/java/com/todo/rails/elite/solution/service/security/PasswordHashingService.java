@@ -0,0 +1,119 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt hashing on a dedicated, bounded thread pool.
+ *
+ * <p>Hashing is CPU bound and its cost grows with
+ * {@link com.todo.rails.elite.solution.config.SecurityConfig#PASSWORD_ENCODER_STRENGTH}.
+ * Running it on servlet threads lets a burst of registrations occupy every
+ * request thread. This pool has one thread per core and a bounded queue; when
+ * the queue is full, work is rejected immediately with a
+ * {@link ServiceOverloadedException}, which is answered with {@code 503} and
+ * {@code Retry-After}.</p>
+ *
+ * <p>The pool keeps platform threads even when virtual threads are enabled:
+ * hashing never blocks, so virtual threads would only add scheduling overhead
+ * while occupying the same carrier threads as request handling.</p>
+ *
+ * <p>Metrics: {@code password.hashing.duration} times each hash, and the
+ * {@code executor.*} meters tagged {@code name=passwordHashing} report queue
+ * depth, active threads and rejections.</p>
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+	private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+	private final BCryptPasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final Timer hashTimer;
+	private final Duration timeout;
+
+	@Autowired
+	public PasswordHashingService(
+			BCryptPasswordEncoder passwordEncoder,
+			MeterRegistry meterRegistry,
+			@Value("${app.password-hashing.threads:0}") int threads,
+			@Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${app.password-hashing.timeout:10s}") Duration timeout
+	) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.passwordEncoder = passwordEncoder;
+		this.timeout = timeout;
+		this.executor = new ThreadPoolExecutor(
+				poolSize, poolSize,
+				0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("password-hashing-"),
+				new ThreadPoolExecutor.AbortPolicy()
+		);
+		this.hashTimer = Timer.builder("password.hashing.duration")
+				.description("Time spent computing one BCrypt hash")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(meterRegistry);
+	}
+
+	/**
+	 * Hashes a password on the hashing pool and waits for the result.
+	 *
+	 * @param rawPassword the password to hash.
+	 * @return the BCrypt hash.
+	 * @throws ServiceOverloadedException if the hashing queue is full or the hash does not finish in time.
+	 */
+	public String encode(CharSequence rawPassword) throws ServiceOverloadedException {
+		CompletableFuture<String> hash = encodeAsync(rawPassword);
+		try {
+			return hash.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException exception) {
+			hash.cancel(false);
+			throw new ServiceOverloadedException("Password hashing timed out", RETRY_AFTER);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while hashing password", exception);
+		} catch (ExecutionException exception) {
+			throw new IllegalStateException("Password hashing failed", exception.getCause());
+		}
+	}
+
+	/**
+	 * Submits a password to the hashing pool without waiting for the result.
+	 *
+	 * @param rawPassword the password to hash.
+	 * @return a future completed with the BCrypt hash.
+	 * @throws ServiceOverloadedException if the hashing queue is full.
+	 */
+	public CompletableFuture<String> encodeAsync(CharSequence rawPassword) throws ServiceOverloadedException {
+		try {
+			return CompletableFuture.supplyAsync(() -> hashTimer.record(() -> passwordEncoder.encode(rawPassword)), executor);
+		} catch (RejectedExecutionException exception) {
+			throw new ServiceOverloadedException("Too many password hashing requests, try again later", RETRY_AFTER);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+}
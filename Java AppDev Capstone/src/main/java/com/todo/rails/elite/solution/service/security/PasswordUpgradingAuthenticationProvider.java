@@ -0,0 +1,43 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link DaoAuthenticationProvider} that upgrades password hashes after the login has succeeded.
+ *
+ * <p>The superclass would re-hash synchronously inside the login request, so its
+ * own upgrade hook is left disabled and the work is handed to
+ * {@link JpaUserDetailsPasswordService#upgradeEncodingAsync(UserDetails, CharSequence)}.</p>
+ *
+ * <p>The authentication carries {@link SecurityUser#withoutPassword()} as its
+ * principal, so the password hash never reaches the session store. The loaded
+ * user, which may be shared through the user details cache, is left as is.</p>
+ */
+public class PasswordUpgradingAuthenticationProvider extends DaoAuthenticationProvider {
+
+	private final JpaUserDetailsPasswordService passwordUpgradeService;
+
+	public PasswordUpgradingAuthenticationProvider(
+			UserDetailsService userDetailsService,
+			PasswordEncoder passwordEncoder,
+			JpaUserDetailsPasswordService passwordUpgradeService
+	) {
+		super(passwordEncoder);
+		setUserDetailsService(userDetailsService);
+		this.passwordUpgradeService = passwordUpgradeService;
+	}
+
+	@Override
+	protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+		if (authentication.getCredentials() != null) {
+			passwordUpgradeService.upgradeEncodingAsync(user, authentication.getCredentials().toString());
+		}
+		Object sessionPrincipal = principal instanceof SecurityUser securityUser ? securityUser.withoutPassword() : principal;
+		return super.createSuccessAuthentication(sessionPrincipal, authentication, user);
+	}
+}
@@ -10,6 +10,22 @@ const darkModeSwitch = document.querySelector(".dark-mode-toggle-switch")
 
 const darkModeText = document.querySelector(".mode-text")
 
+const searchInput = document.querySelector(".search-input")
+
+const searchResults = document.querySelector(".search-results")
+
+const dashboard = document.querySelector(".dashboard-container")
+
+// dashboard cards, keyed by the field of the pushed statistics they show
+const dashboardCounts = {
+    pendingToday: document.querySelector("#tasks-pending-today"),
+    pending: document.querySelector("#tasks-pending-total"),
+    completed: document.querySelector("#tasks-completed-total")
+}
+
+let searchTimeout
+let searchController
+
 sidebarToggle.addEventListener("click", () => {
     sidebar.classList.toggle("close")
 })
@@ -18,6 +34,68 @@ searchButton.addEventListener("click", () => {
     sidebar.classList.remove("close")
 })
 
+const renderSearchResults = (tasks) => {
+    searchResults.replaceChildren(...tasks.map((task) => {
+        const link = document.createElement("a")
+        link.href = searchInput.dataset.taskUrl + task.id
+        link.textContent = task.title
+        link.classList.toggle("completed", task.completed)
+        const item = document.createElement("li")
+        item.append(link)
+        return item
+    }))
+}
+
+const searchTasks = async (query) => {
+    searchController?.abort()
+    searchController = new AbortController()
+    const url = searchInput.dataset.searchUrl + "?limit=10&q=" + encodeURIComponent(query)
+    try {
+        const response = await fetch(url, {
+            headers: {Accept: "application/json"},
+            signal: searchController.signal
+        })
+        renderSearchResults(response.ok ? await response.json() : [])
+    } catch (error) {
+        if (error.name !== "AbortError") {
+            renderSearchResults([])
+        }
+    }
+}
+
+searchInput.addEventListener("input", () => {
+    clearTimeout(searchTimeout)
+    const query = searchInput.value.trim()
+    if (query === "") {
+        searchController?.abort()
+        renderSearchResults([])
+        return
+    }
+    searchTimeout = setTimeout(() => searchTasks(query), 150)
+})
+
+// the dashboard stays current through pushed events instead of page reloads;
+// EventSource reconnects on its own and the first event restores the counts
+if (dashboard && window.EventSource) {
+    const taskEvents = new EventSource(dashboard.dataset.eventsUrl)
+
+    taskEvents.addEventListener("statistics", (event) => {
+        const statistics = JSON.parse(event.data)
+        Object.entries(dashboardCounts).forEach(([field, element]) => {
+            element.textContent = statistics[field]
+        })
+    })
+
+    taskEvents.addEventListener("task", (event) => {
+        const change = JSON.parse(event.data)
+        if (change.type === "COMPLETED" || change.type === "DELETED") {
+            change.ids.forEach((id) => {
+                document.querySelector(`#table-body tr[data-task-id="${id}"]`)?.remove()
+            })
+        }
+    })
+}
+
 darkModeSwitch.addEventListener("click", () => {
     const isDark = body.classList.toggle("dark");
     darkModeText.innerText = isDark ? "Light Mode" : "Dark Mode";
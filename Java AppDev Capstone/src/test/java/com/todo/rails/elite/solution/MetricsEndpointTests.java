@@ -0,0 +1,96 @@
+package com.todo.rails.elite.solution;
+
+import com.todo.rails.elite.solution.config.SecurityConfig;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.repository.UserRepository;
+import com.todo.rails.elite.solution.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uses H2 through the regular Hikari pool, rather than a replaced test database, so that pool gauges are registered.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+	private static final String PASSWORD = "scrape-secret";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private BCryptPasswordEncoder passwordEncoder;
+
+	@BeforeEach
+	void setUp() {
+		if (userRepository.findByUsername("scraper").isEmpty()) {
+			userRepository.save(new User("scraper", passwordEncoder.encode(PASSWORD), "scraper@example.com", SecurityConfig.METRICS_ROLE));
+			userRepository.save(new User("member", passwordEncoder.encode(PASSWORD), "member@example.com", "USER"));
+		}
+	}
+
+	@Test
+	void prometheus_ExposesServiceRepositoryAndPoolMetricsToMetricsRole() throws Exception {
+		taskService.getPendingTasks(1L);
+
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("scraper")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString(
+						"app_service_seconds_bucket{application=\"TodoRails Elite Starter Code\",class=\"com.todo.rails.elite.solution.service.TaskService\"")))
+				.andExpect(content().string(containsString("method=\"getPendingTasks\"")))
+				.andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+				.andExpect(content().string(containsString("hikaricp_connections_active")));
+	}
+
+	@Test
+	void prometheus_Anonymous_IsUnauthorized() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(header().exists(HttpHeaders.WWW_AUTHENTICATE));
+	}
+
+	@Test
+	void prometheus_UserWithoutMetricsRole_IsForbidden() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("member")))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void health_IsPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+
+	private static String basic(String username) {
+		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,125 @@
+package com.todo.rails.elite.solution;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Starts the packaged application the way production does and times it until the first request has been served.
+ *
+ * <p>Runs in the integration-test phase of the prod build, after AOT processing and
+ * extraction, and only when {@code startup.budget} is set:</p>
+ * <pre>
+ *   mvn -Pprod verify -Dstartup.budget=PT30S
+ * </pre>
+ * <p>The extracted jar is launched with {@code -Dspring.aot.enabled=true} and a
+ * class-data-sharing archive on an in-memory H2 database. The archive built by the
+ * prod profile is trained without H2 on the classpath, which the JVM would reject,
+ * so a training run records one for this classpath first. On a single-core
+ * container such a start refreshes the context in about 15 seconds, and 19 to 26
+ * seconds without the archive, so a budget of twice the measured time catches a
+ * lost AOT or CDS setup on a quiet runner.</p>
+ */
+@EnabledIfSystemProperty(named = "startup.budget", matches = ".+")
+class StartupTimeIT {
+
+	private static final Duration TRAINING_TIMEOUT = Duration.ofMinutes(5);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void prodBuild_ServesFirstRequestWithinBudget() throws Exception {
+		Duration budget = Duration.parse(System.getProperty("startup.budget"));
+		File jar = new File(System.getProperty("startup.jar"));
+		assertTrue(jar.isFile(), "No extracted jar at " + jar + ", run the prod build's package phase first");
+		Path archive = tempDir.resolve("startup.jsa");
+		File log = new File(jar.getParentFile().getParentFile(), "startup-it.log");
+
+		Process training = launch(jar, log, List.of(
+				"-XX:ArchiveClassesAtExit=" + archive,
+				"-Dspring.context.exit=onRefresh"
+		), List.of("--app.search.rebuild-on-startup=false"));
+		assertTrue(training.waitFor(TRAINING_TIMEOUT.toSeconds(), TimeUnit.SECONDS), "Training run did not stop");
+		assertEquals(0, training.exitValue(), "Training run failed, see " + log);
+
+		int port = freePort();
+		long start = System.nanoTime();
+		Process application = launch(jar, log, List.of("-XX:SharedArchiveFile=" + archive), List.of("--server.port=" + port));
+		try {
+			HttpResponse<Void> response = firstResponse(application, port, start, budget);
+			Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+			assertEquals(200, response.statusCode());
+			assertTrue(elapsed.compareTo(budget) < 0, "First request served after " + elapsed + ", budget " + budget);
+		} finally {
+			application.destroy();
+			application.waitFor(30, TimeUnit.SECONDS);
+		}
+	}
+
+	private static Process launch(File jar, File log, List<String> jvmArguments, List<String> programArguments) throws Exception {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArguments);
+		command.add("-Dspring.aot.enabled=true");
+		command.add("-Dspring.profiles.active=prod");
+		command.add("-cp");
+		command.add(jar.getName() + File.pathSeparator + h2Location());
+		command.add(SolutionApplication.class.getName());
+		command.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1");
+		command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+		command.add("--spring.datasource.username=sa");
+		command.add("--spring.datasource.password=");
+		command.addAll(programArguments);
+		return new ProcessBuilder(command)
+				.directory(jar.getParentFile())
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+				.start();
+	}
+
+	private static HttpResponse<Void> firstResponse(Process application, int port, long start, Duration budget) throws Exception {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login")).build();
+		while (Duration.ofNanos(System.nanoTime() - start).compareTo(budget) < 0) {
+			if (!application.isAlive()) {
+				fail("Application exited with " + application.exitValue() + " before serving a request");
+			}
+			try {
+				return client.send(request, HttpResponse.BodyHandlers.discarding());
+			} catch (ConnectException e) {
+				Thread.sleep(50);
+			}
+		}
+		return fail("No request served within " + budget);
+	}
+
+	private static String h2Location() throws Exception {
+		return Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
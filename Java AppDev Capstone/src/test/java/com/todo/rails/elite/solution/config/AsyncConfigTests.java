@@ -0,0 +1,26 @@
+package com.todo.rails.elite.solution.config;
+
+import com.todo.rails.elite.solution.service.TaskCounterService;
+import com.todo.rails.elite.solution.service.TaskEventStream;
+import com.todo.rails.elite.solution.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncConfigTests {
+
+	private final LazyInitializationExcludeFilter filter = AsyncConfig.scheduledBeansExcludeFilter();
+
+	@Test
+	void scheduledBeansExcludeFilter_BeansWithScheduledJobs_StayEager() {
+		assertTrue(filter.isExcluded("taskEventStream", null, TaskEventStream.class));
+		assertTrue(filter.isExcluded("taskCounterService", null, TaskCounterService.class));
+	}
+
+	@Test
+	void scheduledBeansExcludeFilter_OtherBeans_StayLazy() {
+		assertFalse(filter.isExcluded("taskService", null, TaskService.class));
+	}
+}
@@ -0,0 +1,62 @@
+package com.todo.rails.elite.solution.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CookiePrimaryPinTests {
+
+	private final Instant until = Instant.now().plusSeconds(10).truncatedTo(ChronoUnit.MILLIS);
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void pinUntil_SeenByLaterTransactionsAndByNextRequestOnAnyNode() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		request(new MockHttpServletRequest(), response);
+
+		new CookiePrimaryPin().pinUntil(until);
+		new CookiePrimaryPin().pinUntil(until.plusMillis(5));
+
+		assertEquals(until.plusMillis(5), new CookiePrimaryPin().pinnedUntil());
+		assertEquals(1, response.getHeaders(HttpHeaders.SET_COOKIE).size());
+		String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+		assertTrue(setCookie.startsWith(CookiePrimaryPin.COOKIE_NAME + "=" + until.toEpochMilli()));
+		assertTrue(setCookie.contains("HttpOnly"));
+
+		MockHttpServletRequest next = new MockHttpServletRequest();
+		next.setCookies(new Cookie(CookiePrimaryPin.COOKIE_NAME, String.valueOf(until.toEpochMilli())));
+		request(next, new MockHttpServletResponse());
+		assertEquals(until, new CookiePrimaryPin().pinnedUntil());
+	}
+
+	@Test
+	void pinnedUntil_WithoutCookieOrRequest_IsNull() {
+		assertNull(new CookiePrimaryPin().pinnedUntil());
+		new CookiePrimaryPin().pinUntil(until);
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(CookiePrimaryPin.COOKIE_NAME, "tomorrow"));
+		request(request, new MockHttpServletResponse());
+		assertNull(new CookiePrimaryPin().pinnedUntil());
+	}
+
+	private static void request(MockHttpServletRequest request, MockHttpServletResponse response) {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+	}
+}
@@ -0,0 +1,128 @@
+package com.todo.rails.elite.solution.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes between two embedded databases, each of which knows its own name.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+	private final AtomicReference<String> currentClient = new AtomicReference<>();
+	private final Map<String, Instant> pins = new ConcurrentHashMap<>();
+
+	private EmbeddedDatabase primary;
+	private EmbeddedDatabase replica;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		primary = database("primary");
+		replica = database("replica");
+		ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(
+				primary, List.of(replica), Duration.ofSeconds(10), new ClientPin(), now::get
+		);
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		primary.shutdown();
+		replica.shutdown();
+	}
+
+	@Test
+	void readOnlyTransaction_UsesReplica() {
+		assertEquals("replica", readOnly.execute(status -> node()));
+	}
+
+	@Test
+	void readWriteTransactionAndNoTransaction_UsePrimary() {
+		assertEquals("primary", readWrite.execute(status -> node()));
+		assertEquals("primary", node());
+	}
+
+	@Test
+	void readOnlyTransaction_AfterOwnWrite_UsesPrimaryUntilPinExpires() {
+		currentClient.set("alice");
+		readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+		assertEquals("primary", readOnly.execute(status -> node()));
+		currentClient.set("bob");
+		assertEquals("replica", readOnly.execute(status -> node()));
+
+		now.set(now.get().plusSeconds(11));
+		currentClient.set("alice");
+		assertEquals("replica", readOnly.execute(status -> node()));
+	}
+
+	@Test
+	void readOnlyTransaction_AfterRolledBackWrite_UsesReplica() {
+		currentClient.set("alice");
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE node SET writes = writes + 1");
+			status.setRollbackOnly();
+		});
+
+		assertEquals("replica", readOnly.execute(status -> node()));
+	}
+
+	/**
+	 * Keeps one pin per client, as the cookie of each browser does.
+	 */
+	private final class ClientPin implements PrimaryPin {
+
+		@Override
+		public Instant pinnedUntil() {
+			String client = currentClient.get();
+			return client == null ? null : pins.get(client);
+		}
+
+		@Override
+		public void pinUntil(Instant until) {
+			String client = currentClient.get();
+			if (client != null) {
+				pins.put(client, until);
+			}
+		}
+	}
+
+	private String node() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private static EmbeddedDatabase database(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		new JdbcTemplate(database).execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+		new JdbcTemplate(database).update("INSERT INTO node (name, writes) VALUES (?, 0)", name);
+		return database;
+	}
+}
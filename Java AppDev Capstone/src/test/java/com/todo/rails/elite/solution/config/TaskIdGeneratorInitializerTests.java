@@ -0,0 +1,60 @@
+package com.todo.rails.elite.solution.config;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import com.todo.rails.elite.solution.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs without a test transaction because the id generator updates its table in a separate transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskIdGeneratorInitializerTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void afterSingletonsInstantiated_SkipsIdsFromAutoIncrement() {
+		Long ownerId = userRepository.save(new User("owner", "hash", "owner@example.com", "USER")).getId();
+		jdbcTemplate.update(
+				"INSERT INTO tasks (id, user_id, title, description, completed, due_date) VALUES (?, ?, ?, ?, ?, ?)",
+				500L, ownerId, "Legacy", "Inserted with AUTO_INCREMENT", false, LocalDate.now()
+		);
+
+		new TaskIdGeneratorInitializer(jdbcTemplate, entityManagerFactory).afterSingletonsInstantiated();
+		Task task = new Task("New", "Generated id", false, LocalDate.now());
+		task.setOwnerId(ownerId);
+		Task saved = taskRepository.save(task);
+
+		assertTrue(saved.getId() > 500L);
+	}
+}
@@ -0,0 +1,154 @@
+package com.todo.rails.elite.solution.config;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import com.todo.rails.elite.solution.repository.UserRepository;
+import com.todo.rails.elite.solution.service.DashboardService;
+import com.todo.rails.elite.solution.service.TaskChangeTracker;
+import com.todo.rails.elite.solution.service.TaskCounterService;
+import com.todo.rails.elite.solution.service.TaskSearchIndex;
+import com.todo.rails.elite.solution.service.TaskService;
+import com.todo.rails.elite.solution.service.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records {@code jdk.VirtualThreadPinned} events while our service code runs on virtual threads.
+ *
+ * <p>Only events from the virtual threads started here are considered, so pinning
+ * elsewhere in the JVM does not affect the result. Runs without a test transaction
+ * so that every worker commits its own work.</p>
+ */
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({
+		TaskService.class, TaskChangeTracker.class, TaskSearchIndex.class, TaskCounterService.class,
+		DashboardService.class, SimpleMeterRegistry.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VirtualThreadPinningTests {
+
+	private static final String WORKER_PREFIX = "pinning-check-";
+	private static final int WORKERS = 16;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskCounterService taskCounterService;
+
+	private final PasswordHashingService passwordHashingService = new PasswordHashingService(
+			new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 2, WORKERS, Duration.ofSeconds(10)
+	);
+
+	@AfterEach
+	void tearDown() {
+		passwordHashingService.destroy();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void recording_DetectsPinningInsideSynchronized() throws Exception {
+		Object monitor = new Object();
+
+		List<RecordedEvent> pinned = recordPinning(worker -> {
+			synchronized (monitor) {
+				sleep(5);
+			}
+		});
+
+		assertFalse(pinned.isEmpty());
+	}
+
+	@Test
+	void taskAndPasswordPaths_DoNotPinVirtualThreads() throws Exception {
+		Long ownerId = userRepository.save(new User("owner", "hash", "owner@example.com", "USER")).getId();
+		taskCounterService.create(ownerId);
+		List<RecordedEvent> pinned = recordPinning(worker -> {
+			Task task = taskService.addTask(ownerId, new Task("Task " + worker, "Pinning check", false, LocalDate.now()));
+			taskService.getTaskById(ownerId, task.getId());
+			taskService.getTaskPage(ownerId, null, 10);
+			dashboardService.getDashboard(ownerId);
+			passwordHashingService.encode("secret-" + worker);
+		});
+
+		assertTrue(pinned.isEmpty(), () -> "Virtual threads were pinned:\n" + pinned);
+	}
+
+	private List<RecordedEvent> recordPinning(IntConsumer work) throws Exception {
+		Path file = Files.createTempFile("pinning", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+			try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+					Thread.ofVirtual().name(WORKER_PREFIX, 0).factory())) {
+				List<Future<?>> futures = new ArrayList<>();
+				for (int worker = 0; worker < WORKERS; worker++) {
+					int id = worker;
+					futures.add(executor.submit(() -> work.accept(id)));
+				}
+				for (Future<?> future : futures) {
+					future.get(30, TimeUnit.SECONDS);
+				}
+			}
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> isWorker(event.getThread()))
+					.toList();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static boolean isWorker(RecordedThread thread) {
+		return thread != null && thread.getJavaName() != null && thread.getJavaName().startsWith(WORKER_PREFIX);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.todo.rails.elite.solution.controller;
+
+import com.todo.rails.elite.solution.config.SecurityConfig;
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.service.DashboardService;
+import com.todo.rails.elite.solution.service.TaskService;
+import com.todo.rails.elite.solution.service.security.JpaUserDetailsPasswordService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PageController.class)
+@Import({SecurityConfig.class, SimpleMeterRegistry.class})
+class PageControllerTests {
+
+	private static final Long OWNER = 3L;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private TaskService taskService;
+
+	@MockBean
+	private DashboardService dashboardService;
+
+	@MockBean
+	private UserDetailsService userDetailsService;
+
+	@MockBean
+	private JpaUserDetailsPasswordService passwordUpgradeService;
+
+	private SecurityContext session;
+
+	@BeforeEach
+	void setUp() {
+		User user = new User("owner", "hash", "owner@example.com", "USER");
+		user.setId(OWNER);
+		SecurityUser owner = new SecurityUser(user);
+		session = new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(owner, null, owner.getAuthorities())
+		);
+	}
+
+	@Test
+	void getTasksPage_PageLinksKeepLimit() throws Exception {
+		Task task = new Task("Sample Task", "This is a sample task.", false, LocalDate.now());
+		task.setId(1L);
+		when(taskService.getTaskPage(OWNER, "cursor-1", 10)).thenReturn(new TaskPage<>(List.of(task), "cursor-2"));
+
+		mockMvc.perform(get("/tasks")
+						.param("after", "cursor-1")
+						.param("limit", "10")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("href=\"/tasks?after=cursor-2&amp;limit=10\"")))
+				.andExpect(content().string(containsString("href=\"/tasks?limit=10\"")));
+	}
+}
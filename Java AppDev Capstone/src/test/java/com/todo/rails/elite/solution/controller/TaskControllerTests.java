@@ -1,49 +1,268 @@
 package com.todo.rails.elite.solution.controller;
 
+import com.todo.rails.elite.solution.config.SecurityConfig;
 import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.TaskBulkRequest;
+import com.todo.rails.elite.solution.model.dto.TaskChangeMarker;
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.service.DashboardService;
+import com.todo.rails.elite.solution.service.TaskChangeTracker;
+import com.todo.rails.elite.solution.service.TaskEventStream;
+import com.todo.rails.elite.solution.service.TaskExportService;
+import com.todo.rails.elite.solution.service.TaskImportService;
 import com.todo.rails.elite.solution.service.TaskService;
+import com.todo.rails.elite.solution.service.security.JpaUserDetailsPasswordService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 // TODO 13: Write Integration Tests for Controllers. Use MockMvc to test endpoints in TaskController.
 @WebMvcTest(TaskController.class)
+@Import({SecurityConfig.class, SimpleMeterRegistry.class, TaskEventStream.class})
 class TaskControllerTests {
 
+	private static final Long OWNER = 3L;
+
 	@Autowired
 	private MockMvc mockMvc;
 
-	@Mock
+	@MockBean
 	private TaskService taskService;
 
+	@MockBean
+	private TaskChangeTracker taskChangeTracker;
+
+	@MockBean
+	private DashboardService dashboardService;
+
+	@Autowired
+	private TaskEventStream taskEventStream;
+
+	@MockBean
+	private TaskExportService taskExportService;
+
+	@MockBean
+	private TaskImportService taskImportService;
+
+	@MockBean
+	private UserDetailsService userDetailsService;
+
+	@MockBean
+	private JpaUserDetailsPasswordService passwordUpgradeService;
+
+	/**
+	 * The security context of a logged-in owner, stored where the filter chain looks for it in the session.
+	 */
+	private SecurityContext session;
+
 	private Task sampleTask;
 
+	private TaskSummary sampleSummary;
+
 	@BeforeEach
 	void setUp() {
-		MockitoAnnotations.openMocks(this);
+		User user = new User("owner", "hash", "owner@example.com", "USER");
+		user.setId(OWNER);
+		SecurityUser owner = new SecurityUser(user);
+		session = new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(owner, null, owner.getAuthorities())
+		);
 		sampleTask = new Task("Sample Task", "This is a sample task.", false, LocalDate.now());
+		sampleSummary = new TaskSummary(1L, "Sample Task", false, LocalDate.now());
+		when(taskChangeTracker.getMarker(OWNER)).thenReturn(Optional.of(new TaskChangeMarker(7, Instant.parse("2026-01-01T00:00:00Z"))));
 	}
 
 	@Test
 	void getAllTasks_Success() throws Exception {
-		when(taskService.getAllTasks()).thenReturn(List.of(sampleTask));
+		when(taskService.getTaskSummaryPage(OWNER, null, 50)).thenReturn(new TaskPage<>(List.of(sampleSummary), "next"));
 
 		mockMvc.perform(get("/api/tasks/all")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
 						.contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tasks[0].title").value("Sample Task"))
+				.andExpect(jsonPath("$.tasks[0].description").doesNotExist())
+				.andExpect(jsonPath("$.nextCursor").value("next"));
+	}
+
+	@Test
+	void getAllTasks_SetsValidators() throws Exception {
+		when(taskService.getTaskSummaryPage(OWNER, null, 50)).thenReturn(new TaskPage<>(List.of(sampleSummary), null));
+
+		mockMvc.perform(get("/api/tasks/all")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"all-3-7\""))
+				.andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Thu, 01 Jan 2026 00:00:00 GMT"))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+	}
+
+	@Test
+	void getAllTasks_NoRecordedChange_SetsNoValidators() throws Exception {
+		when(taskChangeTracker.getMarker(OWNER)).thenReturn(Optional.empty());
+		when(taskService.getTaskSummaryPage(OWNER, null, 50)).thenReturn(new TaskPage<>(List.of(sampleSummary), null));
+
+		mockMvc.perform(get("/api/tasks/all")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"all-3-0\""))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG))
+				.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+	}
+
+	@Test
+	void getPendingTasks_NotModified_SkipsQuery() throws Exception {
+		mockMvc.perform(get("/api/tasks/pending")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"pending-3-7\""))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		verify(taskService, never()).getPendingTasks(OWNER);
+	}
+
+	@Test
+	void getCompletedTasks_NotModifiedSince_SkipsQuery() throws Exception {
+		mockMvc.perform(get("/api/tasks/completed")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2026 00:00:00 GMT"))
+				.andExpect(status().isNotModified());
+
+		verify(taskService, never()).getCompletedTasks(OWNER);
+	}
+
+	@Test
+	void getAllTasks_Failure_NotLoggedIn() throws Exception {
+		mockMvc.perform(get("/api/tasks/all"))
+				.andExpect(status().is3xxRedirection());
+
+		verify(taskService, never()).getTaskSummaryPage(any(), any(), any(Integer.class));
+	}
+
+	@Test
+	void getTaskById_ChangedVersion_ReturnsTask() throws Exception {
+		sampleTask.setId(5L);
+		when(taskService.getTaskById(OWNER, 5L)).thenReturn(sampleTask);
+
+		mockMvc.perform(get("/api/tasks/5")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"5-3\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"5-0\""))
+				.andExpect(jsonPath("$.title").value("Sample Task"));
+	}
+
+	@Test
+	void searchTasks_ReturnsRankedSummaries() throws Exception {
+		when(taskService.searchTasks(OWNER, "sam", 10)).thenReturn(List.of(sampleSummary));
+
+		mockMvc.perform(get("/api/tasks/search")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.param("q", "sam")
+						.param("limit", "10"))
+				.andExpect(status().isOk())
 				.andExpect(jsonPath("$[0].title").value("Sample Task"));
 	}
+
+	@Test
+	void getAllTasks_InvalidCursor() throws Exception {
+		when(taskService.getTaskSummaryPage(OWNER, "bogus", 10)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+		mockMvc.perform(get("/api/tasks/all")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.param("after", "bogus")
+						.param("limit", "10")
+						.contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void completeTasks_ReturnsAffectedCount() throws Exception {
+		when(taskService.completeTasks(OWNER, TaskBulkRequest.overdueTasks())).thenReturn(12);
+
+		mockMvc.perform(post("/api/tasks/bulk/complete")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"overdue\": true}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.affected").value(12));
+	}
+
+	@Test
+	void completeTask_CompletesWithoutChangingCachedTask() throws Exception {
+		sampleTask.setId(5L);
+		when(taskService.getTaskById(OWNER, 5L)).thenReturn(sampleTask);
+
+		mockMvc.perform(post("/api/tasks/complete/5")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session))
+				.andExpect(status().is3xxRedirection());
+
+		verify(taskService).completeTask(OWNER, sampleTask);
+		verify(taskService, never()).updateTask(any(), any());
+		assertFalse(sampleTask.isCompleted());
+	}
+
+	@Test
+	void streamEvents_SendsCountsThenOnlyTheOwnersChanges() throws Exception {
+		when(dashboardService.getStatistics(OWNER))
+				.thenReturn(new TaskStatistics(3, 2, 1, 1), new TaskStatistics(3, 1, 2, 0));
+
+		MvcResult result = mockMvc.perform(get("/api/tasks/events")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		taskEventStream.onTaskEvent(new TaskEvent(OWNER + 1, TaskEvent.Type.DELETED, List.of(9L), 1));
+		taskEventStream.onTaskEvent(new TaskEvent(OWNER, TaskEvent.Type.COMPLETED, List.of(5L), 1));
+
+		String events = result.getResponse().getContentAsString();
+		assertTrue(events.startsWith("event:statistics\ndata:{\"total\":3,\"pending\":2,\"completed\":1,\"pendingToday\":1}\n\n"));
+		assertTrue(events.contains("event:task\ndata:{\"type\":\"COMPLETED\",\"ids\":[5],\"affected\":1}\n\n"));
+		assertFalse(events.contains("[9]"));
+		verify(dashboardService, never()).getStatistics(OWNER + 1);
+	}
+
+	@Test
+	void exportTasks_Failure_UnsupportedFormat() throws Exception {
+		mockMvc.perform(get("/api/tasks/export")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, session)
+						.param("format", "xml"))
+				.andExpect(status().isBadRequest());
+	}
 }
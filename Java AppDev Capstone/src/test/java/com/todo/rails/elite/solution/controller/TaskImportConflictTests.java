@@ -0,0 +1,72 @@
+package com.todo.rails.elite.solution.controller;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import com.todo.rails.elite.solution.service.TaskService;
+import com.todo.rails.elite.solution.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports against the real schema, so a title clash is reported by the database's unique key.
+ * Uses container sessions, which MockMvc can seed with a signed-in user.
+ */
+@SpringBootTest(properties = "app.session.store=container")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class TaskImportConflictTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@SpyBean
+	private TaskRepository taskRepository;
+
+	@Test
+	void importTasks_TitleAddedConcurrently_ReturnsConflictAndImportsNothing() throws Exception {
+		User user = userService.addUser(new User("importer", "secret", "importer@example.com", "USER"));
+		taskService.addTask(user.getId(), new Task("Groceries", "Milk", false, LocalDate.now().plusDays(1)));
+		// the title is committed after the import checked for existing titles
+		doReturn(List.of()).when(taskRepository).findExistingTitles(any(), any());
+		SecurityUser principal = new SecurityUser(user).withoutPassword();
+
+		mockMvc.perform(post("/api/tasks/import")
+						.sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(
+								UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities())
+						))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								[{"title": "Errands", "description": "Post office", "dueDate": "2099-01-01"},
+								 {"title": "Groceries", "description": "Bread", "dueDate": "2099-01-01"}]
+								"""))
+				.andExpect(status().isConflict());
+
+		assertEquals(1, taskService.countTasks(user.getId()));
+	}
+}
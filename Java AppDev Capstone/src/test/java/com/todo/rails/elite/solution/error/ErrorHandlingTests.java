@@ -1,13 +1,20 @@
 package com.todo.rails.elite.solution.error;
 
+import com.todo.rails.elite.solution.exception.GlobalExceptionHandler;
+import com.todo.rails.elite.solution.exception.ServiceOverloadedException;
 import com.todo.rails.elite.solution.repository.TaskRepository;
 import com.todo.rails.elite.solution.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,10 +37,34 @@ class ErrorHandlingTests {
 
 	@Test
 	void getTaskById_NotFound() {
-		when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+		when(taskRepository.findByIdAndOwnerId(1L, 1L)).thenReturn(Optional.empty());
 
-		Exception exception = assertThrows(RuntimeException.class, () -> taskService.getTaskById(1L));
+		Exception exception = assertThrows(RuntimeException.class, () -> taskService.getTaskById(1L, 1L));
 
 		assertEquals("Task not found", exception.getMessage());
 	}
+
+	@Test
+	void serviceOverloaded_Returns503WithRetryAfter() {
+		ServiceOverloadedException exception = new ServiceOverloadedException("Busy", Duration.ofSeconds(3));
+
+		ResponseEntity<String> response = new GlobalExceptionHandler(new SimpleMeterRegistry())
+				.handleServiceOverloadedException(exception);
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void handleRuntimeException_CountsByTypeAndStatus() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		GlobalExceptionHandler handler = new GlobalExceptionHandler(meterRegistry);
+
+		handler.handleRuntimeException(new IllegalStateException("Broken"));
+		handler.handleRuntimeException(new IllegalStateException("Broken again"));
+
+		assertEquals(2, meterRegistry.get("app.exceptions")
+				.tags("exception", "IllegalStateException", "status", "400")
+				.counter().count());
+	}
 }
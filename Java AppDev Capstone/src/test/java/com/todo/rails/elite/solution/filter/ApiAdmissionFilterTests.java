@@ -0,0 +1,86 @@
+package com.todo.rails.elite.solution.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApiAdmissionFilterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ApiAdmissionFilter filter = new ApiAdmissionFilter(
+			new TokenBucketRateLimiter(1, 2, 100),
+			Map.of(
+					ApiAdmissionFilter.READ, 1,
+					ApiAdmissionFilter.WRITE, 1,
+					ApiAdmissionFilter.EXPORT, 1,
+					ApiAdmissionFilter.EVENTS, 1
+			),
+			meterRegistry
+	);
+
+	@Test
+	void doFilter_ClientOverRate_RejectedWith429() throws Exception {
+		assertEquals(200, perform(request("GET", "/api/tasks/all", "owner")).getStatus());
+		assertEquals(200, perform(request("GET", "/api/tasks/all", "owner")).getStatus());
+
+		MockHttpServletResponse rejected = perform(request("GET", "/api/tasks/all", "owner"));
+
+		assertEquals(429, rejected.getStatus());
+		assertEquals("1", rejected.getHeader("Retry-After"));
+		assertEquals(200, perform(request("GET", "/api/tasks/all", "other")).getStatus());
+		assertEquals(1.0, rejections("read", "rate_limit"));
+	}
+
+	@Test
+	void doFilter_GroupSaturated_RejectedWith503WhileOtherGroupsProceed() throws Exception {
+		MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+		filter.doFilter(request("GET", "/api/tasks/all", "owner"), new MockHttpServletResponse(), (request, response) -> {
+			nested[0] = perform(request("GET", "/api/tasks/pending", "other"));
+			nested[1] = perform(request("POST", "/api/tasks/bulk/complete", "other"));
+		});
+
+		assertEquals(503, nested[0].getStatus());
+		assertEquals("1", nested[0].getHeader("Retry-After"));
+		assertEquals(200, nested[1].getStatus());
+		assertEquals(1.0, rejections("read", "concurrency"));
+		assertEquals(0.0, meterRegistry.get("app.requests.in.flight").tag("group", "read").gauge().value());
+	}
+
+	@Test
+	void doFilter_AsyncRequest_HoldsPermitUntilComplete() throws Exception {
+		MockHttpServletRequest export = request("GET", "/api/tasks/export", "owner");
+		export.setAsyncSupported(true);
+		filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+		assertEquals(503, perform(request("GET", "/api/tasks/export", "other")).getStatus());
+
+		export.getAsyncContext().complete();
+		assertEquals(200, perform(request("GET", "/api/tasks/export", "other")).getStatus());
+	}
+
+	private MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, (req, res) -> {
+		});
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String method, String uri, String username) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.setUserPrincipal(new TestingAuthenticationToken(username, null));
+		return request;
+	}
+
+	private double rejections(String group, String reason) {
+		return meterRegistry.get("app.requests.rejected").tag("group", group).tag("reason", reason).counter().count();
+	}
+}
@@ -0,0 +1,51 @@
+package com.todo.rails.elite.solution.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketRateLimiterTests {
+
+	private final AtomicLong nanos = new AtomicLong(-5_000);
+
+	private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, 3, 100, nanos::get);
+
+	@Test
+	void tryAcquire_AllowsBurstThenReportsWaitForNextToken() {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, rateLimiter.tryAcquire("user:a"));
+		}
+
+		assertEquals(Duration.ofMillis(500).toNanos(), rateLimiter.tryAcquire("user:a"));
+	}
+
+	@Test
+	void tryAcquire_RefillsAtConfiguredRate() {
+		for (int i = 0; i < 3; i++) {
+			rateLimiter.tryAcquire("user:a");
+		}
+
+		nanos.addAndGet(Duration.ofMillis(500).toNanos());
+		assertEquals(0, rateLimiter.tryAcquire("user:a"));
+		assertEquals(Duration.ofMillis(500).toNanos(), rateLimiter.tryAcquire("user:a"));
+
+		// idle clients refill only up to the burst
+		nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, rateLimiter.tryAcquire("user:a"));
+		}
+		assertEquals(Duration.ofMillis(500).toNanos(), rateLimiter.tryAcquire("user:a"));
+	}
+
+	@Test
+	void tryAcquire_KeepsSeparateBucketPerClient() {
+		for (int i = 0; i < 3; i++) {
+			rateLimiter.tryAcquire("user:a");
+		}
+
+		assertEquals(0, rateLimiter.tryAcquire("user:b"));
+	}
+}
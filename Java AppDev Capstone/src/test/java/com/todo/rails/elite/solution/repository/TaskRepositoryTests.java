@@ -0,0 +1,226 @@
+package com.todo.rails.elite.solution.repository;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class TaskRepositoryTests {
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final LocalDate today = LocalDate.now();
+
+	private Long ownerId;
+
+	private Long otherOwnerId;
+
+	@BeforeEach
+	void setUp() {
+		ownerId = entityManager.persist(new User("owner", "hash", "owner@example.com", "USER")).getId();
+		otherOwnerId = entityManager.persist(new User("other", "hash", "other@example.com", "USER")).getId();
+		taskRepository.saveAll(List.of(
+				task(ownerId, "Today 1", "Pending today", false, today),
+				task(ownerId, "Today 2", "Pending today", false, today),
+				task(ownerId, "Tomorrow", "Pending tomorrow", false, today.plusDays(1)),
+				task(ownerId, "Done", "Completed today", true, today),
+				// same title as one of the owner's tasks, which is allowed across users
+				task(otherOwnerId, "Done", "Someone else's task", false, today)
+		));
+	}
+
+	private static Task task(Long ownerId, String title, String description, boolean completed, LocalDate dueDate) {
+		Task task = new Task(title, description, completed, dueDate);
+		task.setOwnerId(ownerId);
+		return task;
+	}
+
+	@Test
+	void getStatistics_CountsInOneQuery() {
+		TaskStatistics statistics = taskRepository.getStatistics(ownerId, today);
+
+		assertEquals(new TaskStatistics(4, 3, 1, 2), statistics);
+	}
+
+	@Test
+	void getStatistics_EmptyTable() {
+		taskRepository.deleteAll();
+
+		assertEquals(new TaskStatistics(0, 0, 0, 0), taskRepository.getStatistics(ownerId, today));
+	}
+
+	@Test
+	void queries_OnlySeeTheOwnersTasks() {
+		Long otherTaskId = taskRepository.findByOwnerIdAndTitle(otherOwnerId, "Done").orElseThrow().getId();
+
+		assertEquals(new TaskStatistics(1, 1, 0, 1), taskRepository.getStatistics(otherOwnerId, today));
+		assertTrue(taskRepository.findByIdAndOwnerId(otherTaskId, ownerId).isEmpty());
+		assertEquals(List.of("Done"),
+				taskRepository.findSummaryPage(otherOwnerId, Limit.of(10)).stream().map(TaskSummary::title).toList());
+		assertEquals(0, taskRepository.updateByTitle(ownerId, "Done", otherTaskId, "Taken", true, today, Instant.now()));
+		assertEquals(0, taskRepository.deleteByIdIn(ownerId, List.of(otherTaskId)));
+		assertEquals(1, taskRepository.countByOwnerId(otherOwnerId));
+	}
+
+	@Test
+	void findPendingTasks_RespectsLimitAndOrder() {
+		List<Task> pendingTasks = taskRepository.findByOwnerIdAndCompletedFalseOrderByDueDateAscIdAsc(ownerId, Limit.of(2));
+
+		assertEquals(List.of("Today 1", "Today 2"), pendingTasks.stream().map(Task::getTitle).toList());
+	}
+
+	@Test
+	void findSummariesByCompleted_FiltersByStatus() {
+		assertEquals(3, taskRepository.findSummariesByCompleted(ownerId, false).size());
+		assertEquals(List.of("Done"),
+				taskRepository.findSummariesByCompleted(ownerId, true).stream().map(TaskSummary::title).toList());
+		assertEquals(2, taskRepository.findSummariesByCompletedAndDueDate(ownerId, false, today).size());
+	}
+
+	@Test
+	void findSummaries_LoadNoEntities() {
+		entityManager.flush();
+		entityManager.clear();
+
+		List<TaskSummary> summaries = taskRepository.findSummariesByCompleted(ownerId, false);
+
+		assertEquals(new TaskSummary(summaries.getFirst().id(), "Today 1", false, today), summaries.getFirst());
+		assertEquals(0, entityManager.getEntityManager().unwrap(SessionImplementor.class)
+				.getPersistenceContext().getNumberOfManagedEntities());
+	}
+
+	@Test
+	void readOnlyQueries_LoadEntitiesWithoutDirtyChecking() {
+		entityManager.flush();
+		entityManager.clear();
+
+		List<Task> pendingTasks = taskRepository.findByOwnerIdAndCompletedFalseOrderByDueDateAscIdAsc(ownerId, Limit.of(10));
+		pendingTasks.getFirst().setTitle("Changed");
+		entityManager.flush();
+
+		SessionImplementor session = entityManager.getEntityManager().unwrap(SessionImplementor.class);
+		assertTrue(pendingTasks.stream().allMatch(session::isReadOnly));
+		assertEquals("Today 1", jdbcTemplate.queryForObject(
+				"SELECT title FROM tasks WHERE id = ?", String.class, pendingTasks.getFirst().getId()
+		));
+	}
+
+	@Test
+	void findSummaryPageAfter_WalksKeysetInOrder() {
+		List<TaskSummary> firstPage = taskRepository.findSummaryPage(ownerId, Limit.of(2));
+		TaskSummary last = firstPage.getLast();
+
+		List<TaskSummary> secondPage = taskRepository.findSummaryPageAfter(ownerId, last.dueDate(), last.id(), Limit.of(10));
+
+		assertEquals(List.of("Today 1", "Today 2"), firstPage.stream().map(TaskSummary::title).toList());
+		assertEquals(List.of("Done", "Tomorrow"), secondPage.stream().map(TaskSummary::title).toList());
+	}
+
+	@Test
+	void findPageAfter_WalksKeysetInOrder() {
+		List<Task> firstPage = taskRepository.findByOwnerIdOrderByDueDateAscIdAsc(ownerId, Limit.of(2));
+		Task last = firstPage.getLast();
+
+		List<Task> secondPage = taskRepository.findPageAfter(ownerId, last.getDueDate(), last.getId(), Limit.of(10));
+
+		assertEquals(List.of("Today 1", "Today 2"), firstPage.stream().map(Task::getTitle).toList());
+		assertEquals(List.of("Done", "Tomorrow"), secondPage.stream().map(Task::getTitle).toList());
+	}
+
+	@Test
+	void findTodayTasks_OnlyPendingDueToday() {
+		List<Task> todayTasks = taskRepository.findByOwnerIdAndCompletedFalseAndDueDateOrderByIdAsc(ownerId, today, Limit.of(10));
+
+		assertEquals(2, todayTasks.size());
+	}
+
+	@Test
+	void updateByTitle_UpdatesInOneStatement() {
+		Long id = taskRepository.findByOwnerIdAndTitle(ownerId, "Tomorrow").orElseThrow().getId();
+
+		Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+		int updatedRows = taskRepository.updateByTitle(ownerId, "Tomorrow", id, "Moved", true, today.plusDays(2), now);
+		entityManager.clear();
+
+		assertEquals(1, updatedRows);
+		Task updated = taskRepository.findById(id).orElseThrow();
+		assertEquals("Moved", updated.getDescription());
+		assertTrue(updated.isCompleted());
+		assertEquals(1, updated.getVersion());
+		assertEquals(now, updated.getLastModified());
+	}
+
+	@Test
+	void updateByTitle_NoMatch_ReturnsZero() {
+		Long otherId = taskRepository.findByOwnerIdAndTitle(ownerId, "Done").orElseThrow().getId();
+
+		assertEquals(0, taskRepository.updateByTitle(ownerId, "Missing", null, "Moved", true, today, Instant.now()));
+		assertEquals(0, taskRepository.updateByTitle(ownerId, "Tomorrow", otherId, "Moved", true, today, Instant.now()));
+	}
+
+	@Test
+	void completeOverdue_CompletesOnlyPendingTasksDueBeforeToday() {
+		// inserted directly because overdue tasks fail entity validation
+		jdbcTemplate.update(
+				"INSERT INTO tasks (id, user_id, title, description, completed, due_date) VALUES (?, ?, ?, ?, ?, ?)",
+				10_000L, ownerId, "Overdue", "Pending yesterday", false, today.minusDays(1)
+		);
+
+		int completed = taskRepository.completeOverdue(ownerId, today, Instant.now());
+		entityManager.clear();
+
+		assertEquals(1, completed);
+		assertTrue(taskRepository.findByOwnerIdAndTitle(ownerId, "Overdue").orElseThrow().isCompleted());
+		assertEquals(3, taskRepository.findSummariesByCompleted(ownerId, false).size());
+	}
+
+	@Test
+	void deleteByIdIn_DeletesInOneStatement() {
+		List<Long> ids = taskRepository.findSummariesByCompletedAndDueDate(ownerId, false, today).stream()
+				.map(TaskSummary::id)
+				.toList();
+
+		assertEquals(2, taskRepository.deleteByIdIn(ownerId, ids));
+		assertEquals(2, taskRepository.countByOwnerId(ownerId));
+	}
+
+	@Test
+	void deleteCompletedDueBefore_KeepsPendingAndLaterTasks() {
+		assertEquals(0, taskRepository.deleteCompletedDueBefore(ownerId, today));
+		assertEquals(1, taskRepository.deleteCompletedDueBefore(ownerId, today.plusDays(1)));
+		assertEquals(3, taskRepository.countByOwnerId(ownerId));
+	}
+
+	@Test
+	void saveAndFlush_DuplicateTitle_ViolatesUniqueConstraint() {
+		assertThrows(DataIntegrityViolationException.class,
+				() -> taskRepository.saveAndFlush(task(ownerId, "Done", "Duplicate", false, today)));
+	}
+}
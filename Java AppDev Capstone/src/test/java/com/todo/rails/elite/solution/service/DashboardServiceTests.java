@@ -0,0 +1,55 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.Dashboard;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DashboardServiceTests {
+	private static final Long OWNER = 1L;
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private TaskCounterService taskCounterService;
+
+	private DashboardService dashboardService;
+
+	@BeforeEach
+	void setUp() {
+		MockitoAnnotations.openMocks(this);
+		dashboardService = new DashboardService(taskRepository, taskCounterService, 5);
+	}
+
+	@Test
+	void getDashboard_UsesCountersAndBoundedLists() {
+		Task sampleTask = new Task("Sample Task", "This is a sample task.", false, LocalDate.now());
+		TaskStatistics statistics = new TaskStatistics(10, 7, 3, 1);
+		when(taskCounterService.getStatistics(OWNER)).thenReturn(statistics);
+		when(taskRepository.findByOwnerIdAndCompletedFalseAndDueDateOrderByIdAsc(eq(OWNER), any(LocalDate.class), any(Limit.class)))
+				.thenReturn(List.of(sampleTask));
+		when(taskRepository.findByOwnerIdAndCompletedFalseOrderByDueDateAscIdAsc(eq(OWNER), any(Limit.class)))
+				.thenReturn(List.of(sampleTask));
+
+		Dashboard dashboard = dashboardService.getDashboard(OWNER);
+
+		assertEquals(statistics, dashboard.statistics());
+		assertEquals(List.of(sampleTask), dashboard.todayTasks());
+		verify(taskRepository).findByOwnerIdAndCompletedFalseOrderByDueDateAscIdAsc(OWNER, Limit.of(5));
+		verify(taskRepository, never()).findAll();
+		verify(taskRepository, never()).getStatistics(any(), any());
+	}
+}
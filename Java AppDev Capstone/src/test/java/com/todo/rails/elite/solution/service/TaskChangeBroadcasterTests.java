@@ -0,0 +1,156 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.config.CacheConfig;
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.repository.TaskChangeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Two broadcasters on one embedded database stand for two nodes, each with its own caches, index and streams.
+ * Runs without a test transaction because every write commits on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskChangeBroadcasterTests {
+
+	private static final Long OWNER = 1L;
+
+	private static final Long OTHER_OWNER = 2L;
+
+	@Autowired
+	private TaskChangeLogRepository taskChangeLogRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final Node writer = new Node();
+
+	private final Node reader = new Node();
+
+	@BeforeEach
+	void setUp() {
+		writer.start();
+		reader.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskChangeLogRepository.deleteAll();
+	}
+
+	@Test
+	void pollChanges_AppliesChangesOfOtherNodes() {
+		Cache tasksById = reader.cacheManager.getCache(CacheConfig.TASKS_BY_ID);
+		Cache tasksByTitle = reader.cacheManager.getCache(CacheConfig.TASKS_BY_TITLE);
+		tasksById.put(OWNER + ":5", new Task());
+		tasksByTitle.put(OWNER + ":Plan trip", new Task());
+		tasksById.put(OTHER_OWNER + ":7", new Task());
+		TaskEvent event = new TaskEvent(OWNER, TaskEvent.Type.COMPLETED, List.of(5L, 6L), 2);
+
+		writer.broadcaster.onTaskEvent(event);
+
+		assertEquals(0, writer.broadcaster.pollChanges());
+		verifyNoInteractions(writer.taskSearchIndex, writer.taskEventStream);
+		assertEquals(1, reader.broadcaster.pollChanges());
+		assertNull(tasksById.get(OWNER + ":5"));
+		assertNull(tasksByTitle.get(OWNER + ":Plan trip"));
+		assertNotNull(tasksById.get(OTHER_OWNER + ":7"));
+		verify(reader.taskSearchIndex).refresh(OWNER, Set.of(5L, 6L));
+		verify(reader.taskSearchIndex, never()).rebuild(OWNER);
+		verify(reader.taskEventStream).onTaskEvent(event);
+		assertEquals(0, reader.broadcaster.pollChanges());
+	}
+
+	@Test
+	void pollChanges_DeletedTasks_AreRemovedWithoutReading() {
+		TaskEvent event = new TaskEvent(OWNER, TaskEvent.Type.DELETED, List.of(5L), 1);
+
+		writer.broadcaster.onTaskEvent(event);
+
+		assertEquals(1, reader.broadcaster.pollChanges());
+		verify(reader.taskSearchIndex).removeAll(OWNER, List.of(5L));
+		verify(reader.taskSearchIndex, never()).refresh(eq(OWNER), anyCollection());
+		verify(reader.taskSearchIndex, never()).rebuild(OWNER);
+	}
+
+	@Test
+	void pollChanges_EntryCommittedAfterHigherId_IsAppliedOnNextPoll() {
+		// entries without ids stand for bulk changes selected by condition
+		long lastId = taskChangeLogRepository.findMaxId();
+		insert(lastId + 2, OTHER_OWNER, Instant.now());
+
+		assertEquals(1, reader.broadcaster.pollChanges());
+		verify(reader.taskSearchIndex).rebuild(OTHER_OWNER);
+
+		insert(lastId + 1, OWNER, Instant.now());
+
+		assertEquals(1, reader.broadcaster.pollChanges());
+		verify(reader.taskSearchIndex).rebuild(OWNER);
+	}
+
+	@Test
+	void cleanUpChangeLog_DeletesInBatchesAndKeepsRecentEntries() {
+		long lastId = taskChangeLogRepository.findMaxId();
+		for (int i = 1; i <= 5; i++) {
+			insert(lastId + i, OWNER, Instant.now().minus(Duration.ofHours(2)));
+		}
+		insert(lastId + 6, OWNER, Instant.now());
+
+		assertEquals(5, reader.broadcaster.cleanUpChangeLog());
+
+		assertEquals(1, taskChangeLogRepository.count());
+	}
+
+	private void insert(long id, Long ownerId, Instant createdAt) {
+		jdbcTemplate.update(
+				"INSERT INTO task_change_log (id, node_id, user_id, type, task_ids, affected, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+				id, "other-node", ownerId, TaskEvent.Type.ADDED.name(), "", 3, Timestamp.from(createdAt)
+		);
+	}
+
+	private class Node {
+
+		private final CaffeineCacheManager cacheManager =
+				new CaffeineCacheManager(CacheConfig.TASKS_BY_ID, CacheConfig.TASKS_BY_TITLE);
+
+		private final TaskSearchIndex taskSearchIndex = mock(TaskSearchIndex.class);
+
+		private final TaskEventStream taskEventStream = mock(TaskEventStream.class);
+
+		private TaskChangeBroadcaster broadcaster;
+
+		private void start() {
+			broadcaster = new TaskChangeBroadcaster(
+					taskChangeLogRepository, cacheManager, taskSearchIndex, taskEventStream,
+					Duration.ofMinutes(1), Duration.ofHours(1), 2
+			);
+			broadcaster.afterPropertiesSet();
+		}
+	}
+}
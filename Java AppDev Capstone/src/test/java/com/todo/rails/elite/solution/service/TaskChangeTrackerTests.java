@@ -0,0 +1,69 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.repository.TaskCountersRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(TaskChangeTracker.class)
+class TaskChangeTrackerTests {
+
+	@Autowired
+	private TaskChangeTracker taskChangeTracker;
+
+	@Autowired
+	private TaskCountersRepository taskCountersRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Long ownerId;
+
+	private Long otherOwnerId;
+
+	@BeforeEach
+	void setUp() {
+		ownerId = entityManager.persist(new User("owner", "hash", "owner@example.com", "USER")).getId();
+		otherOwnerId = entityManager.persist(new User("other", "hash", "other@example.com", "USER")).getId();
+		taskCountersRepository.insert(ownerId);
+		taskCountersRepository.insert(otherOwnerId);
+	}
+
+	@Test
+	void markChanged_BumpsVersionOfOwnerInCurrentTransaction() {
+		taskChangeTracker.markChanged(ownerId);
+		taskChangeTracker.markChanged(ownerId);
+		entityManager.clear();
+
+		assertEquals(2, taskChangeTracker.getMarker(ownerId).orElseThrow().version());
+		assertTrue(taskChangeTracker.getMarker(otherOwnerId).isEmpty());
+	}
+
+	@Test
+	void markChanged_OwnerWithoutCounters_RecordsNothing() {
+		Long uncountedId = entityManager.persist(new User("uncounted", "hash", "uncounted@example.com", "USER")).getId();
+
+		taskChangeTracker.markChanged(uncountedId);
+		entityManager.clear();
+
+		assertTrue(taskChangeTracker.getMarker(uncountedId).isEmpty());
+	}
+
+	@Test
+	void markChanged_Failure_OutsideTransaction() {
+		TestTransaction.end();
+
+		assertThrows(IllegalTransactionStateException.class, () -> taskChangeTracker.markChanged(ownerId));
+	}
+}
@@ -0,0 +1,141 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.TaskBulkRequest;
+import com.todo.rails.elite.solution.model.dto.TaskStatistics;
+import com.todo.rails.elite.solution.repository.TaskCountersRepository;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({
+		TaskService.class, TaskCounterService.class, TaskChangeTracker.class, TaskSearchIndex.class,
+		SimpleMeterRegistry.class
+})
+class TaskCounterServiceTests {
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskCounterService taskCounterService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskCountersRepository taskCountersRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final LocalDate today = LocalDate.now();
+
+	private Long ownerId;
+
+	@BeforeEach
+	void setUp() {
+		ownerId = entityManager.persistAndFlush(new User("owner", "hash", "owner@example.com", "USER")).getId();
+		taskCounterService.create(ownerId);
+	}
+
+	@Test
+	void singleTaskWrites_KeepCountersInStep() {
+		taskService.addTask(ownerId, new Task("Today", "Due today", false, today));
+		taskService.addTask(ownerId, new Task("Tomorrow", "Due tomorrow", false, today.plusDays(1)));
+		taskService.addTask(ownerId, new Task("Done", "Already done", true, today));
+		taskService.updateTask(ownerId, new Task("Tomorrow", "Moved to today", false, today));
+		taskService.updateTask(ownerId, new Task("Today", "Due today", true, today));
+		taskService.deleteTask(ownerId, new Task("Done", "Already done", true, today));
+
+		assertEquals(new TaskStatistics(2, 1, 1, 1), taskCounterService.getStatistics(ownerId));
+		assertCountersMatchTasks();
+	}
+
+	@Test
+	void addTask_WithAnotherOwnersId_CreatesNewTask() {
+		Long victimId = entityManager.persistAndFlush(new User("victim", "hash", "victim@example.com", "USER")).getId();
+		taskCounterService.create(victimId);
+		Long victimTaskId = taskService.addTask(victimId, new Task("Theirs", "Owned by the victim", false, today)).getId();
+		Task posted = new Task("Mine now", "Posted with the victim's id", false, today);
+		posted.setId(victimTaskId);
+
+		Long addedId = taskService.addTask(ownerId, posted).getId();
+		entityManager.clear();
+
+		assertNotEquals(victimTaskId, addedId);
+		Task victimTask = taskRepository.findById(victimTaskId).orElseThrow();
+		assertEquals(victimId, victimTask.getOwnerId());
+		assertEquals("Theirs", victimTask.getTitle());
+		assertEquals(new TaskStatistics(1, 1, 0, 1), taskCounterService.getStatistics(victimId));
+		assertCountersMatchTasks();
+	}
+
+	@Test
+	void bulkWrites_RecountTheOwner() {
+		taskService.addTask(ownerId, new Task("First", "Pending", false, today));
+		taskService.addTask(ownerId, new Task("Second", "Pending", false, today.plusDays(2)));
+		insertTask(10_000L, ownerId, "Overdue", today.minusDays(1));
+
+		assertEquals(1, taskService.completeTasks(ownerId, TaskBulkRequest.overdueTasks()));
+
+		assertEquals(new TaskStatistics(3, 2, 1, 1), taskCounterService.getStatistics(ownerId));
+		assertCountersMatchTasks();
+	}
+
+	@Test
+	void reconcile_CreatesMissingAndRepairsDriftedCounters() {
+		taskService.addTask(ownerId, new Task("Counted", "Pending", false, today));
+		jdbcTemplate.update("UPDATE task_counters SET pending = 5 WHERE user_id = ?", ownerId);
+		Long uncountedId = entityManager.persistAndFlush(new User("other", "hash", "other@example.com", "USER")).getId();
+		insertTask(10_000L, uncountedId, "Uncounted", today.minusDays(1));
+
+		assertEquals(2, taskCounterService.reconcile());
+
+		assertEquals(new TaskStatistics(1, 1, 0, 1), taskCounterService.getStatistics(ownerId));
+		assertEquals(new TaskStatistics(1, 1, 0, 0), taskCounterService.getStatistics(uncountedId));
+		assertEquals(0, taskCounterService.reconcile());
+	}
+
+	@Test
+	void getStatistics_WithoutCounters_FallsBackToAggregate() {
+		Long uncountedId = entityManager.persistAndFlush(new User("other", "hash", "other@example.com", "USER")).getId();
+		insertTask(10_000L, uncountedId, "Uncounted", today);
+
+		assertEquals(new TaskStatistics(1, 1, 0, 1), taskCounterService.getStatistics(uncountedId));
+	}
+
+	private void assertCountersMatchTasks() {
+		assertEquals(taskRepository.getStatistics(ownerId, today), taskCounterService.getStatistics(ownerId));
+		assertEquals(taskRepository.countPendingByDueDate(ownerId), taskCountersRepository.findPendingCounts(ownerId));
+		assertFalse(taskCounterService.recount(ownerId));
+	}
+
+	// written around the service, so the counters do not know about it
+	private void insertTask(Long id, Long ownerId, String title, LocalDate dueDate) {
+		jdbcTemplate.update(
+				"INSERT INTO tasks (id, user_id, title, description, completed, due_date) VALUES (?, ?, ?, ?, ?, ?)",
+				id, ownerId, title, "Inserted directly", false, dueDate
+		);
+	}
+}
@@ -0,0 +1,91 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(TaskExportService.class)
+class TaskExportServiceTests {
+
+	@Autowired
+	private TaskExportService taskExportService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final LocalDate dueDate = LocalDate.now();
+
+	private Long ownerId;
+
+	private List<Task> savedTasks;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User("owner", "hash", "owner@example.com", "USER");
+		entityManager.persist(owner);
+		ownerId = owner.getId();
+		List<Task> tasks = List.of(
+				new Task("Plain", "Nothing special", false, dueDate),
+				new Task("Quoted, \"title\"", "Line one\nline two", true, dueDate)
+		);
+		tasks.forEach(task -> task.setOwnerId(ownerId));
+		savedTasks = taskRepository.saveAll(tasks);
+	}
+
+	@Test
+	void exportTasks_Ndjson_OneObjectPerLine() {
+		String output = export(TaskExportService.Format.NDJSON);
+
+		String[] lines = output.split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("{") && lines[0].contains("\"title\":\"Plain\""));
+		assertTrue(lines[1].contains("\"dueDate\":\"" + dueDate + "\""));
+	}
+
+	@Test
+	void exportTasks_Csv_EscapesFields() {
+		String output = export(TaskExportService.Format.CSV);
+
+		Long secondId = savedTasks.get(1).getId();
+		assertTrue(output.startsWith("id,title,description,completed,dueDate\n"));
+		assertTrue(output.contains(secondId + ",\"Quoted, \"\"title\"\"\",\"Line one\nline two\",true," + dueDate));
+	}
+
+	@Test
+	void exportTasks_DetachesWrittenEntities() {
+		export(TaskExportService.Format.NDJSON);
+
+		savedTasks.forEach(task -> assertFalse(entityManager.contains(task)));
+	}
+
+	@Test
+	void formatFrom_Failure_UnknownFormat() {
+		assertThrows(IllegalArgumentException.class, () -> TaskExportService.Format.from("xml"));
+	}
+
+	private String export(TaskExportService.Format format) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		taskExportService.exportTasks(ownerId, format, outputStream);
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+}
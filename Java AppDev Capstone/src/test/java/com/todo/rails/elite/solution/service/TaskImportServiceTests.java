@@ -0,0 +1,143 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.dto.TaskImportResult;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({
+		TaskImportService.class, TaskChangeTracker.class, TaskSearchIndex.class, TaskCounterService.class,
+		SimpleMeterRegistry.class
+})
+@TestPropertySource(properties = "app.import.max-tasks=500")
+class TaskImportServiceTests {
+
+	@Autowired
+	private TaskImportService taskImportService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private TaskChangeTracker taskChangeTracker;
+
+	@Autowired
+	private TaskCounterService taskCounterService;
+
+	private final LocalDate dueDate = LocalDate.now();
+
+	private Long ownerId;
+
+	@BeforeEach
+	void setUp() {
+		ownerId = entityManager.persist(new User("owner", "hash", "owner@example.com", "USER")).getId();
+		Task existing = new Task("Existing", "Already stored", false, dueDate);
+		existing.setOwnerId(ownerId);
+		taskRepository.saveAndFlush(existing);
+	}
+
+	@Test
+	void importTasks_InsertsAcrossSeveralBatches() {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			tasks.add(new Task("Imported " + i, "Imported task", false, dueDate));
+		}
+
+		TaskImportResult result = taskImportService.importTasks(ownerId, tasks);
+
+		assertEquals(120, result.imported());
+		assertTrue(result.rejected().isEmpty());
+		assertEquals(121, taskRepository.countByOwnerId(ownerId));
+	}
+
+	@Test
+	void importTasks_FewerThanOneBatch_MarksTasksChanged() {
+		taskCounterService.create(ownerId);
+		entityManager.clear();
+
+		taskImportService.importTasks(ownerId, List.of(new Task("Single", "Smaller than a batch", false, dueDate)));
+
+		assertEquals(1, taskChangeTracker.getMarker(ownerId).orElseThrow().version());
+	}
+
+	@Test
+	void importTasks_RejectsInvalidAndDuplicateTasks() {
+		List<Task> tasks = List.of(
+				new Task("New", "Valid task", false, dueDate),
+				new Task("", "Blank title", false, dueDate),
+				new Task("New", "Same title again", false, dueDate),
+				new Task("Existing", "Title already stored", false, dueDate)
+		);
+
+		TaskImportResult result = taskImportService.importTasks(ownerId, tasks);
+
+		assertEquals(1, result.imported());
+		assertEquals(List.of(1, 2, 3), result.rejected().stream().map(TaskImportResult.Rejection::index).toList());
+		assertEquals("Duplicate title in request", result.rejected().get(1).reason());
+		assertEquals("Task already exists", result.rejected().get(2).reason());
+	}
+
+	@Test
+	void importTasks_TitlesDifferingOnlyInCaseOrAccents_AreDuplicates() {
+		List<Task> tasks = List.of(
+				new Task("Groceries", "Valid task", false, dueDate),
+				new Task("groceries", "Same title in lower case", false, dueDate),
+				new Task("Grocéries", "Same title with an accent", false, dueDate)
+		);
+
+		TaskImportResult result = taskImportService.importTasks(ownerId, tasks);
+
+		assertEquals(1, result.imported());
+		assertEquals(List.of(1, 2), result.rejected().stream().map(TaskImportResult.Rejection::index).toList());
+		assertEquals("Duplicate title in request", result.rejected().get(0).reason());
+	}
+
+	@Test
+	void titleKey_FoldsCaseAndAccents() {
+		assertEquals(TaskImportService.titleKey("Existing"), TaskImportService.titleKey("EXISTÍNG"));
+	}
+
+	@Test
+	void importTasks_TitlesOnlyClashWithinOneOwner() {
+		Long otherOwnerId = entityManager.persist(new User("other", "hash", "other@example.com", "USER")).getId();
+
+		TaskImportResult result = taskImportService.importTasks(otherOwnerId, List.of(
+				new Task("Existing", "Same title, different owner", false, dueDate)
+		));
+
+		assertEquals(1, result.imported());
+		assertEquals(1, taskRepository.countByOwnerId(otherOwnerId));
+	}
+
+	@Test
+	void importTasks_Failure_TooManyTasks() {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 501; i++) {
+			tasks.add(new Task("Task " + i, "Too many", false, dueDate));
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> taskImportService.importTasks(ownerId, tasks));
+		assertEquals(1, taskRepository.countByOwnerId(ownerId));
+	}
+}
@@ -0,0 +1,190 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTests {
+
+	private static final Long OWNER = 1L;
+
+	private static final Long OTHER_OWNER = 2L;
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+
+	private final LocalDate today = LocalDate.now();
+
+	private TaskSearchIndex taskSearchIndex;
+
+	@BeforeEach
+	void setUp() {
+		taskSearchIndex = new TaskSearchIndex(
+				taskRepository, mock(EntityManager.class), mock(PlatformTransactionManager.class), false
+		);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void tokenize_NormalizesCaseAndDiacritics() {
+		assertEquals(List.of("cafe", "report", "2026"), TaskSearchIndex.tokenize("Café-Report, 2026!"));
+		assertEquals(List.of(), TaskSearchIndex.tokenize("  -- "));
+	}
+
+	@Test
+	void search_RequiresEveryTermAsPrefix() {
+		taskSearchIndex.index(task(1L, "Quarterly report", "Send to finance", false));
+		taskSearchIndex.index(task(2L, "Report bug", "Login fails", false));
+
+		assertEquals(List.of(1L), ids(taskSearchIndex.search(OWNER, "rep QUAR", 10)));
+		assertEquals(List.of(1L, 2L), ids(taskSearchIndex.search(OWNER, "report", 10)));
+		assertEquals(List.of(), ids(taskSearchIndex.search(OWNER, "report payroll", 10)));
+	}
+
+	@Test
+	void search_RanksTitleAndExactMatchesFirst() {
+		taskSearchIndex.index(task(1L, "Groceries", "Buy milk", false));
+		taskSearchIndex.index(task(2L, "Milk", "Buy it", false));
+		taskSearchIndex.index(task(3L, "Dairy", "Milkshake", false));
+
+		assertEquals(List.of(2L, 1L, 3L), ids(taskSearchIndex.search(OWNER, "milk", 10)));
+		assertEquals(List.of(2L), ids(taskSearchIndex.search(OWNER, "milk", 1)));
+	}
+
+	@Test
+	void index_ReplacesContentAndRemoveDropsTask() {
+		taskSearchIndex.index(task(1L, "Plan trip", "Book hotel", false));
+		taskSearchIndex.index(task(1L, "Plan trip", "Book flights", true));
+
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "hotel", 10));
+		assertEquals(List.of(new TaskSummary(1L, "Plan trip", true, today)), taskSearchIndex.search(OWNER, "flights", 10));
+
+		taskSearchIndex.remove(OWNER, task(1L, "Plan trip", "Book flights", true));
+
+		assertEquals(0, taskSearchIndex.size());
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "plan", 10));
+	}
+
+	@Test
+	void search_OnlyMatchesTheOwnersTasks() {
+		taskSearchIndex.index(task(OWNER, 1L, "Dentist", "Tuesday", false));
+		taskSearchIndex.index(task(OTHER_OWNER, 2L, "Dentist", "Thursday", false));
+
+		assertEquals(List.of(1L), ids(taskSearchIndex.search(OWNER, "dentist", 10)));
+		assertEquals(List.of(2L), ids(taskSearchIndex.search(OTHER_OWNER, "dentist", 10)));
+
+		taskSearchIndex.removeAll(OWNER, List.of(2L));
+
+		assertEquals(2, taskSearchIndex.size());
+		assertEquals(List.of(), taskSearchIndex.search(3L, "dentist", 10));
+	}
+
+	@Test
+	void index_InTransaction_AppliesAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		taskSearchIndex.index(task(1L, "Pay rent", "Before Friday", false));
+
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "rent", 10));
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		assertEquals(List.of(1L), ids(taskSearchIndex.search(OWNER, "rent", 10)));
+	}
+
+	@Test
+	void completeMatching_UpdatesIndexedSummaries() {
+		taskSearchIndex.index(task(1L, "Water plants", "Balcony", false));
+		taskSearchIndex.index(task(2L, "Water lawn", "Garden", false));
+
+		taskSearchIndex.completeMatching(OWNER, task -> task.id() == 2L);
+
+		assertEquals(List.of(false, true), taskSearchIndex.search(OWNER, "water", 10).stream()
+				.sorted((first, second) -> Long.compare(first.id(), second.id()))
+				.map(TaskSummary::completed)
+				.toList());
+	}
+
+	@Test
+	void rebuild_ReplaysChangesMadeWhileStreaming() {
+		taskSearchIndex.index(task(9L, "Stale", "Gone from the database", false));
+		Task kept = task(1L, "Keep me", "Still here", false);
+		Task deleted = task(2L, "Delete me", "Removed during rebuild", false);
+		when(taskRepository.streamByOrderByIdAsc()).thenReturn(Stream.of(kept, deleted)
+				.peek(task -> {
+					if (task == kept) {
+						taskSearchIndex.remove(OWNER, deleted);
+					}
+				}));
+
+		assertEquals(1, taskSearchIndex.rebuild());
+		assertEquals(List.of(1L), ids(taskSearchIndex.search(OWNER, "me", 10)));
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "stale", 10));
+	}
+
+	@Test
+	void refresh_ReadsOnlyTheChangedTasks() {
+		taskSearchIndex.index(task(1L, "Stale title", "Changed elsewhere", false));
+		taskSearchIndex.index(task(2L, "Deleted elsewhere", "Gone", false));
+		taskSearchIndex.index(task(3L, "Stale but unchanged", "Untouched", false));
+		when(taskRepository.findByOwnerIdAndIdIn(OWNER, List.of(1L, 2L)))
+				.thenReturn(List.of(task(1L, "Fresh title", "Changed elsewhere", true)));
+
+		taskSearchIndex.refresh(OWNER, List.of(1L, 2L));
+
+		assertEquals(List.of(1L), ids(taskSearchIndex.search(OWNER, "fresh", 10)));
+		assertTrue(taskSearchIndex.search(OWNER, "fresh", 10).get(0).completed());
+		assertEquals(List.of(3L), ids(taskSearchIndex.search(OWNER, "stale", 10)));
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "gone", 10));
+	}
+
+	@Test
+	void rebuildOwner_ReplacesOnlyThatOwnersPartition() {
+		taskSearchIndex.index(task(OWNER, 1L, "Stale title", "Changed elsewhere", false));
+		taskSearchIndex.index(task(OTHER_OWNER, 2L, "Stale notes", "Untouched", false));
+		when(taskRepository.streamByOwnerIdOrderByIdAsc(OWNER))
+				.thenReturn(Stream.of(task(OWNER, 1L, "Fresh title", "Changed elsewhere", false)));
+
+		assertEquals(1, taskSearchIndex.rebuild(OWNER));
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "stale", 10));
+		assertEquals(List.of(1L), ids(taskSearchIndex.search(OWNER, "fresh", 10)));
+		assertEquals(List.of(2L), ids(taskSearchIndex.search(OTHER_OWNER, "stale", 10)));
+
+		when(taskRepository.streamByOwnerIdOrderByIdAsc(OWNER)).thenReturn(Stream.of());
+		assertEquals(0, taskSearchIndex.rebuild(OWNER));
+		assertEquals(List.of(), taskSearchIndex.search(OWNER, "fresh", 10));
+	}
+
+	private Task task(Long id, String title, String description, boolean completed) {
+		return task(OWNER, id, title, description, completed);
+	}
+
+	private Task task(Long ownerId, Long id, String title, String description, boolean completed) {
+		Task task = new Task(title, description, completed, today);
+		task.setId(id);
+		task.setOwnerId(ownerId);
+		return task;
+	}
+
+	private static List<Long> ids(List<TaskSummary> summaries) {
+		return summaries.stream().map(TaskSummary::id).toList();
+	}
+}
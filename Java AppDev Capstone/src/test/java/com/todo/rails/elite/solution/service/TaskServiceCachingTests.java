@@ -0,0 +1,148 @@
+package com.todo.rails.elite.solution.service;
+
+import com.todo.rails.elite.solution.config.CacheConfig;
+import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(
+		classes = {TaskService.class, CacheConfig.class},
+		properties = {
+				"spring.cache.cache-names=tasksById,tasksByTitle",
+				"spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=1m,recordStats"
+		}
+)
+@ImportAutoConfiguration({CacheAutoConfiguration.class, ValidationAutoConfiguration.class})
+class TaskServiceCachingTests {
+
+	private static final Long OWNER = 1L;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockBean
+	private TaskRepository taskRepository;
+
+	@MockBean
+	private TaskChangeTracker taskChangeTracker;
+
+	@MockBean
+	private TaskSearchIndex taskSearchIndex;
+
+	@MockBean
+	private TaskCounterService taskCounterService;
+
+	private Task sampleTask;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+		sampleTask = new Task("Sample Task", "This is a sample task.", false, LocalDate.now());
+		sampleTask.setId(1L);
+		when(taskRepository.findByIdAndOwnerId(1L, OWNER)).thenReturn(Optional.of(sampleTask));
+		when(taskRepository.findByOwnerIdAndTitle(OWNER, sampleTask.getTitle())).thenReturn(Optional.of(sampleTask));
+		when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(taskRepository.updateByTitle(any(), any(), any(), any(), anyBoolean(), any(), any())).thenReturn(1);
+	}
+
+	@Test
+	void getTaskById_SecondCallServedFromCache() {
+		Task first = taskService.getTaskById(OWNER, 1L);
+		Task second = taskService.getTaskById(OWNER, 1L);
+
+		assertSame(first, second);
+		verify(taskRepository, times(1)).findByIdAndOwnerId(1L, OWNER);
+	}
+
+	@Test
+	void getTaskByTitle_SecondCallServedFromCache() {
+		taskService.getTaskByTitle(OWNER, sampleTask.getTitle());
+		taskService.getTaskByTitle(OWNER, sampleTask.getTitle());
+
+		verify(taskRepository, times(1)).findByOwnerIdAndTitle(OWNER, sampleTask.getTitle());
+	}
+
+	@Test
+	void getTaskById_CachesPerOwner() {
+		when(taskRepository.findByIdAndOwnerId(1L, 2L)).thenReturn(Optional.empty());
+
+		taskService.getTaskById(OWNER, 1L);
+
+		assertThrows(RuntimeException.class, () -> taskService.getTaskById(2L, 1L));
+		verify(taskRepository).findByIdAndOwnerId(1L, 2L);
+	}
+
+	@Test
+	void updateTask_EvictsBothCaches() {
+		taskService.getTaskById(OWNER, 1L);
+		taskService.getTaskByTitle(OWNER, sampleTask.getTitle());
+
+		taskService.updateTask(OWNER, sampleTask);
+		taskService.getTaskById(OWNER, 1L);
+		taskService.getTaskByTitle(OWNER, sampleTask.getTitle());
+
+		verify(taskRepository, times(2)).findByIdAndOwnerId(1L, OWNER);
+		verify(taskRepository, times(2)).findByOwnerIdAndTitle(OWNER, sampleTask.getTitle());
+	}
+
+	@Test
+	void updateTask_WithoutId_EvictsTaskByLookedUpId() {
+		when(taskRepository.findIdByTitle(OWNER, sampleTask.getTitle())).thenReturn(Optional.of(1L));
+		taskService.getTaskById(OWNER, 1L);
+		Task update = new Task(sampleTask.getTitle(), "Changed", true, LocalDate.now());
+
+		taskService.updateTask(OWNER, update);
+		taskService.getTaskById(OWNER, 1L);
+
+		verify(taskRepository, times(2)).findByIdAndOwnerId(1L, OWNER);
+	}
+
+	@Test
+	void completeTask_OverdueTask_ReadBackByIdIsCompleted() {
+		Task overdue = new Task("Overdue Task", "Was due yesterday.", false, LocalDate.now().minusDays(1));
+		overdue.setId(2L);
+		Task completed = new Task(overdue);
+		completed.setCompleted(true);
+		when(taskRepository.findByIdAndOwnerId(2L, OWNER)).thenReturn(Optional.of(overdue), Optional.of(completed));
+		when(taskRepository.completeByIdIn(eq(OWNER), eq(List.of(2L)), any())).thenReturn(1);
+
+		Task cached = taskService.getTaskById(OWNER, 2L);
+		assertTrue(taskService.completeTask(OWNER, cached));
+
+		assertFalse(cached.isCompleted());
+		assertTrue(taskService.getTaskById(OWNER, 2L).isCompleted());
+		verify(taskRepository, never()).updateByTitle(any(), any(), any(), any(), anyBoolean(), any(), any());
+	}
+
+	@Test
+	void deleteTask_EvictsBothCaches() {
+		taskService.getTaskById(OWNER, 1L);
+
+		taskService.deleteTask(OWNER, sampleTask);
+		taskService.getTaskById(OWNER, 1L);
+
+		verify(taskRepository, times(2)).findByIdAndOwnerId(1L, OWNER);
+	}
+}
@@ -1,14 +1,27 @@
 package com.todo.rails.elite.solution.service;
 
 import com.todo.rails.elite.solution.model.Task;
+import com.todo.rails.elite.solution.model.dto.TaskBulkRequest;
+import com.todo.rails.elite.solution.model.dto.TaskCursor;
+import com.todo.rails.elite.solution.model.dto.TaskEvent;
+import com.todo.rails.elite.solution.model.dto.TaskPage;
+import com.todo.rails.elite.solution.model.dto.TaskState;
+import com.todo.rails.elite.solution.model.dto.TaskSummary;
 import com.todo.rails.elite.solution.repository.TaskRepository;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,9 +30,26 @@ import static org.mockito.Mockito.*;
 
 // TODO 11: write Unit Tests for Services. Use JUnit to write tests for TaskService methods like addTask(), updateTask(), and deleteTask().
 public class TaskServiceTests {
+	private static final Long OWNER = 1L;
+
 	@Mock
 	private TaskRepository taskRepository;
 
+	@Mock
+	private Validator validator;
+
+	@Mock
+	private TaskChangeTracker taskChangeTracker;
+
+	@Mock
+	private TaskSearchIndex taskSearchIndex;
+
+	@Mock
+	private TaskCounterService taskCounterService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private TaskService taskService;
 
@@ -33,44 +63,198 @@ public class TaskServiceTests {
 
 	@Test
 	void addTask_Success() {
-		when(taskRepository.findByTitle(sampleTask.getTitle())).thenReturn(Optional.empty());
-		when(taskRepository.save(sampleTask)).thenReturn(sampleTask);
+		when(taskRepository.saveAndFlush(sampleTask)).thenReturn(sampleTask);
 
-		Task result = taskService.addTask(sampleTask);
+		Task result = taskService.addTask(OWNER, sampleTask);
 
 		assertNotNull(result);
+		assertEquals(OWNER, result.getOwnerId());
 		assertEquals(sampleTask.getTitle(), result.getTitle());
-		verify(taskRepository, times(1)).save(sampleTask);
+		verify(taskRepository, times(1)).saveAndFlush(sampleTask);
+		verify(taskRepository, never()).findByOwnerIdAndTitle(any(), any());
+		verify(eventPublisher).publishEvent(new TaskEvent(OWNER, TaskEvent.Type.ADDED, List.of(), 1));
 	}
 
 	@Test
 	void addTask_Failure_TaskAlreadyExists() {
-		when(taskRepository.findByTitle(sampleTask.getTitle())).thenReturn(Optional.of(sampleTask));
+		when(taskRepository.saveAndFlush(sampleTask)).thenThrow(violationOf("tasks.uk_tasks_user_title"));
 
-		Exception exception = assertThrows(RuntimeException.class, () -> taskService.addTask(sampleTask));
+		Exception exception = assertThrows(RuntimeException.class, () -> taskService.addTask(OWNER, sampleTask));
 
 		assertEquals("Task already exists", exception.getMessage());
-		verify(taskRepository, never()).save(sampleTask);
+	}
+
+	@Test
+	void addTask_Failure_OtherConstraintIsRethrown() {
+		DataIntegrityViolationException violation = violationOf("fk_tasks_user");
+		when(taskRepository.saveAndFlush(sampleTask)).thenThrow(violation);
+
+		Exception exception = assertThrows(RuntimeException.class, () -> taskService.addTask(OWNER, sampleTask));
+
+		assertSame(violation, exception);
 	}
 
 	@Test
 	void updateTask_Success() {
 		Task updatedTask = new Task("Updated Task", "Updated description", true, LocalDate.now());
-		when(taskRepository.findByTitle(sampleTask.getTitle())).thenReturn(Optional.of(sampleTask));
-		when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+		when(taskRepository.findIdByTitle(OWNER, "Updated Task")).thenReturn(Optional.of(4L));
+		when(taskRepository.updateByTitle(eq(OWNER), eq("Updated Task"), eq(4L), eq("Updated description"), eq(true), eq(LocalDate.now()), any())).thenReturn(1);
 
-		Task result = taskService.updateTask(updatedTask);
+		Task result = taskService.updateTask(OWNER, updatedTask);
 
 		assertNotNull(result);
 		assertEquals("Updated Task", result.getTitle());
+		assertEquals(4L, result.getId());
+		verify(taskRepository, never()).findByOwnerIdAndTitle(any(), any());
+		verify(taskRepository, never()).save(any(Task.class));
+		verify(taskChangeTracker).markChanged(OWNER);
+		verify(eventPublisher).publishEvent(new TaskEvent(OWNER, TaskEvent.Type.UPDATED, List.of(4L), 1));
+	}
+
+	@Test
+	void updateTask_Counted_RecordsPreviousState() {
+		LocalDate today = LocalDate.now();
+		Task updatedTask = new Task("Sample Task", "Done now", true, today.plusDays(1));
+		when(taskCounterService.lock(OWNER)).thenReturn(true);
+		when(taskRepository.findIdByTitle(OWNER, "Sample Task")).thenReturn(Optional.of(1L));
+		when(taskRepository.findStateByTitle(OWNER, "Sample Task", 1L)).thenReturn(Optional.of(new TaskState(false, today)));
+		when(taskRepository.updateByTitle(eq(OWNER), any(), any(), any(), anyBoolean(), any(), any())).thenReturn(1);
+
+		taskService.updateTask(OWNER, updatedTask);
+
+		verify(taskCounterService).record(OWNER, new TaskState(false, today), new TaskState(true, today.plusDays(1)));
+	}
+
+	@Test
+	void updateTask_Failure_TaskNotFound() {
+		Exception exception = assertThrows(RuntimeException.class, () -> taskService.updateTask(OWNER, sampleTask));
+
+		assertEquals("Task not found", exception.getMessage());
+		verify(taskRepository, never()).updateByTitle(any(), any(), any(), any(), anyBoolean(), any(), any());
+		verify(taskChangeTracker, never()).markChanged(any());
+		verifyNoInteractions(eventPublisher);
 	}
 
 	@Test
 	void deleteTask_Success() {
-		when(taskRepository.findByTitle(sampleTask.getTitle())).thenReturn(Optional.of(sampleTask));
+		when(taskRepository.findByOwnerIdAndTitle(OWNER, sampleTask.getTitle())).thenReturn(Optional.of(sampleTask));
 
-		taskService.deleteTask(sampleTask);
+		taskService.deleteTask(OWNER, sampleTask);
 
 		verify(taskRepository, times(1)).delete(sampleTask);
+		verify(taskSearchIndex).remove(OWNER, sampleTask);
+	}
+
+	@Test
+	void searchTasks_UsesIndexWithCappedLimit() {
+		TaskSummary summary = new TaskSummary(1L, "Sample Task", false, LocalDate.now());
+		when(taskSearchIndex.search(OWNER, "sample", TaskService.MAX_PAGE_SIZE)).thenReturn(List.of(summary));
+
+		assertEquals(List.of(summary), taskService.searchTasks(OWNER, "sample", 10_000));
+		verifyNoInteractions(taskRepository);
+	}
+
+	@Test
+	void completeTasks_ByIds_RunsOneStatement() {
+		when(taskRepository.completeByIdIn(eq(OWNER), eq(List.of(1L, 2L)), any())).thenReturn(2);
+
+		int completed = taskService.completeTasks(OWNER, TaskBulkRequest.ofIds(List.of(1L, 2L)));
+
+		assertEquals(2, completed);
+		verify(taskRepository, never()).findById(any());
+		verify(taskSearchIndex).completeAll(OWNER, List.of(1L, 2L));
+		verify(eventPublisher).publishEvent(new TaskEvent(OWNER, TaskEvent.Type.COMPLETED, List.of(1L, 2L), 2));
+	}
+
+	@Test
+	void deleteTasks_CompletedBefore_RunsOneStatement() {
+		LocalDate date = LocalDate.now().minusDays(7);
+		when(taskRepository.deleteCompletedDueBefore(OWNER, date)).thenReturn(5);
+
+		when(taskCounterService.lock(OWNER)).thenReturn(true);
+
+		assertEquals(5, taskService.deleteTasks(OWNER, TaskBulkRequest.completedBefore(date)));
+		verify(taskCounterService).recount(OWNER);
+	}
+
+	@Test
+	void deleteTasks_Failure_NeedsExactlyOneSelector() {
+		assertThrows(IllegalArgumentException.class,
+				() -> taskService.deleteTasks(OWNER, new TaskBulkRequest(List.of(1L), true, null)));
+		assertThrows(IllegalArgumentException.class,
+				() -> taskService.deleteTasks(OWNER, new TaskBulkRequest(null, false, null)));
+		assertThrows(IllegalArgumentException.class,
+				() -> taskService.completeTasks(OWNER, TaskBulkRequest.completedBefore(LocalDate.now())));
+	}
+
+	@Test
+	void getPendingTasks_FiltersInDatabase() {
+		TaskSummary summary = new TaskSummary(1L, "Sample Task", false, LocalDate.now());
+		when(taskRepository.findSummariesByCompleted(OWNER, false)).thenReturn(List.of(summary));
+
+		List<TaskSummary> result = taskService.getPendingTasks(OWNER);
+
+		assertEquals(List.of(summary), result);
+		verify(taskRepository, never()).findAll();
+	}
+
+	@Test
+	void getTaskPage_ReturnsCursorWhenMoreTasksExist() {
+		Task first = new Task("First", "First task", false, LocalDate.now());
+		first.setId(1L);
+		Task second = new Task("Second", "Second task", false, LocalDate.now());
+		second.setId(2L);
+		when(taskRepository.findByOwnerIdOrderByDueDateAscIdAsc(OWNER, Limit.of(2))).thenReturn(List.of(first, second));
+
+		TaskPage<Task> page = taskService.getTaskPage(OWNER, null, 1);
+
+		assertEquals(List.of(first), page.tasks());
+		assertEquals(new TaskCursor(LocalDate.now(), 1L), TaskCursor.decode(page.nextCursor()));
+	}
+
+	@Test
+	void getTaskPage_ContinuesAfterCursor() {
+		String cursor = new TaskCursor(LocalDate.now(), 1L).encode();
+		when(taskRepository.findPageAfter(OWNER, LocalDate.now(), 1L, Limit.of(51))).thenReturn(List.of(sampleTask));
+
+		TaskPage<Task> page = taskService.getTaskPage(OWNER, cursor, 50);
+
+		assertEquals(List.of(sampleTask), page.tasks());
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	void getTaskSummaryPage_ReadsSummaries() {
+		TaskSummary first = new TaskSummary(1L, "First", false, LocalDate.now());
+		TaskSummary second = new TaskSummary(2L, "Second", false, LocalDate.now());
+		when(taskRepository.findSummaryPage(OWNER, Limit.of(2))).thenReturn(List.of(first, second));
+
+		TaskPage<TaskSummary> page = taskService.getTaskSummaryPage(OWNER, null, 1);
+
+		assertEquals(List.of(first), page.tasks());
+		assertEquals(new TaskCursor(LocalDate.now(), 1L), TaskCursor.decode(page.nextCursor()));
+		verify(taskRepository, never()).findByOwnerIdOrderByDueDateAscIdAsc(any(), any(Limit.class));
+	}
+
+	@Test
+	void getTaskPage_Failure_InvalidCursor() {
+		assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(OWNER, "not-a-cursor", 50));
+	}
+
+	@Test
+	void getTodayTasks_FiltersInDatabase() {
+		TaskSummary summary = new TaskSummary(1L, "Sample Task", false, LocalDate.now());
+		when(taskRepository.findSummariesByCompletedAndDueDate(OWNER, false, LocalDate.now())).thenReturn(List.of(summary));
+
+		List<TaskSummary> result = taskService.getTodayTasks(OWNER);
+
+		assertEquals(List.of(summary), result);
+		verify(taskRepository, never()).findAll();
+	}
+
+	private static DataIntegrityViolationException violationOf(String constraintName) {
+		return new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+				"could not execute statement", new SQLException("Constraint violated"), constraintName
+		));
 	}
 }
@@ -0,0 +1,159 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.repository.StoredSessionRepository;
+import com.todo.rails.elite.solution.service.security.DatabaseSessionRepository.DatabaseSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Two repositories on one embedded database stand for two nodes: one with a near-cache, one without.
+ * Runs without a test transaction because every repository call commits on its own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseSessionRepositoryTests {
+
+	@Autowired
+	private StoredSessionRepository storedSessionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private DatabaseSessionRepository cachingNode;
+
+	private DatabaseSessionRepository otherNode;
+
+	@BeforeEach
+	void setUp() {
+		cachingNode = node(Duration.ofMinutes(1));
+		otherNode = node(Duration.ZERO);
+	}
+
+	@AfterEach
+	void tearDown() {
+		storedSessionRepository.deleteAll();
+	}
+
+	@Test
+	void save_SharesSecurityContextWithOtherNodes() {
+		User user = new User("owner", "$2a$04$stored-password-hash", "owner@example.com", "USER");
+		user.setId(3L);
+		SecurityUser principal = new SecurityUser(user);
+		DatabaseSession session = cachingNode.createSession();
+		session.setAttribute("SPRING_SECURITY_CONTEXT", new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities())
+		));
+		cachingNode.save(session);
+
+		SecurityContext context = otherNode.findById(session.getId()).getAttribute("SPRING_SECURITY_CONTEXT");
+
+		SecurityUser restored = (SecurityUser) context.getAuthentication().getPrincipal();
+		assertEquals(3L, restored.getId());
+		assertNull(restored.getPassword());
+		String stored = new String(storedSessionRepository.findById(session.getId()).orElseThrow().getAttributes(), StandardCharsets.ISO_8859_1);
+		assertFalse(stored.contains("stored-password-hash"));
+	}
+
+	@Test
+	void save_WithoutChanges_WritesNothingUntilTouchInterval() {
+		DatabaseSession session = cachingNode.createSession();
+		session.setAttribute("theme", "dark");
+		cachingNode.save(session);
+		Instant stored = storedSessionRepository.findById(session.getId()).orElseThrow().getLastAccessedTime();
+
+		DatabaseSession read = otherNode.findById(session.getId());
+		read.setLastAccessedTime(stored.plusSeconds(30));
+		otherNode.save(read);
+		assertEquals(stored, storedSessionRepository.findById(session.getId()).orElseThrow().getLastAccessedTime());
+
+		read.setLastAccessedTime(stored.plusSeconds(90));
+		otherNode.save(read);
+		assertEquals(stored.plusSeconds(90), storedSessionRepository.findById(session.getId()).orElseThrow().getLastAccessedTime());
+	}
+
+	@Test
+	void findById_ServesCachedSessionUntilDeletedOnSameNode() {
+		DatabaseSession session = cachingNode.createSession();
+		session.setAttribute("theme", "dark");
+		cachingNode.save(session);
+		jdbcTemplate.update("DELETE FROM http_sessions");
+
+		assertEquals("dark", cachingNode.findById(session.getId()).getAttribute("theme"));
+		assertNull(otherNode.findById(session.getId()));
+
+		cachingNode.deleteById(session.getId());
+		assertNull(cachingNode.findById(session.getId()));
+	}
+
+	@Test
+	void save_ChangedId_ReplacesOldId() {
+		DatabaseSession session = cachingNode.createSession();
+		session.setAttribute("theme", "dark");
+		cachingNode.save(session);
+		String oldId = session.getId();
+
+		DatabaseSession loaded = cachingNode.findById(oldId);
+		String newId = loaded.changeSessionId();
+		cachingNode.save(loaded);
+
+		assertNull(cachingNode.findById(oldId));
+		assertNull(otherNode.findById(oldId));
+		assertEquals("dark", otherNode.findById(newId).getAttribute("theme"));
+	}
+
+	@Test
+	void save_SessionDeletedOnOtherNode_IsNotWrittenBack() {
+		DatabaseSession session = cachingNode.createSession();
+		cachingNode.save(session);
+		DatabaseSession loaded = cachingNode.findById(session.getId());
+
+		otherNode.deleteById(session.getId());
+		loaded.setAttribute("theme", "dark");
+		cachingNode.save(loaded);
+
+		assertNull(otherNode.findById(session.getId()));
+	}
+
+	@Test
+	void cleanUpExpiredSessions_DeletesInBatchesAndKeepsLiveSessions() {
+		for (int i = 0; i < 5; i++) {
+			DatabaseSession expired = otherNode.createSession();
+			expired.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+			otherNode.save(expired);
+		}
+		DatabaseSession live = otherNode.createSession();
+		otherNode.save(live);
+
+		assertEquals(5, otherNode.cleanUpExpiredSessions());
+
+		assertEquals(1, storedSessionRepository.count());
+		assertNotNull(otherNode.findById(live.getId()));
+	}
+
+	private DatabaseSessionRepository node(Duration nearCacheTtl) {
+		return new DatabaseSessionRepository(
+				storedSessionRepository, new SimpleMeterRegistry(), Duration.ofMinutes(30), nearCacheTtl, Duration.ofMinutes(1), 2
+		);
+	}
+}
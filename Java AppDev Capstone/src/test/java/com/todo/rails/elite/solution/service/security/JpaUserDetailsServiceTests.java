@@ -0,0 +1,103 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.config.CacheConfig;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.repository.UserRepository;
+import com.todo.rails.elite.solution.service.TaskCounterService;
+import com.todo.rails.elite.solution.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(
+		classes = {JpaUserDetailsService.class, UserService.class, CacheConfig.class},
+		properties = "spring.cache.cache-names=tasksById,tasksByTitle"
+)
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class JpaUserDetailsServiceTests {
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockBean
+	private UserRepository userRepository;
+
+	@MockBean
+	private PasswordHashingService passwordHashingService;
+
+	@MockBean
+	private TaskCounterService taskCounterService;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCache(CacheConfig.USER_DETAILS).clear();
+		user = new User("alice", "hash", "alice@example.com", "USER,ADMIN");
+		when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+	}
+
+	@Test
+	void loadUserByUsername_CachesUserAndParsedAuthorities() {
+		UserDetails first = userDetailsService.loadUserByUsername("alice");
+		UserDetails second = userDetailsService.loadUserByUsername("alice");
+
+		assertSame(first, second);
+		assertEquals(List.of("USER", "ADMIN"),
+				first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+		assertSame(first.getAuthorities(), second.getAuthorities());
+		verify(userRepository, times(1)).findByUsername("alice");
+	}
+
+	@Test
+	void loadUserByUsername_MissingUserIsNotCached() {
+		when(userRepository.findByUsername("bob")).thenReturn(Optional.empty());
+
+		assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("bob"));
+		assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("bob"));
+
+		verify(userRepository, times(2)).findByUsername("bob");
+	}
+
+	@Test
+	void updateUser_EvictsCachedDetails() {
+		userDetailsService.loadUserByUsername("alice");
+
+		userService.updateUser(user);
+		userDetailsService.loadUserByUsername("alice");
+
+		// once per login lookup plus the existence check in updateUser
+		verify(userRepository, times(3)).findByUsername("alice");
+	}
+
+	@Test
+	void deleteUser_EvictsCachedDetails() {
+		userDetailsService.loadUserByUsername("alice");
+
+		userService.deleteUser(user);
+		userDetailsService.loadUserByUsername("alice");
+
+		verify(userRepository, times(3)).findByUsername("alice");
+	}
+}
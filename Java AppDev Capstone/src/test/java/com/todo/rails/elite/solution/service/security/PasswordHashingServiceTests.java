@@ -0,0 +1,69 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private PasswordHashingService passwordHashingService;
+
+	@AfterEach
+	void tearDown() {
+		passwordHashingService.destroy();
+	}
+
+	@Test
+	void encode_ProducesMatchingHashAndRecordsDuration() {
+		BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+		passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 4, Duration.ofSeconds(5));
+
+		String hash = passwordHashingService.encode("secret");
+
+		assertTrue(passwordEncoder.matches("secret", hash));
+		assertEquals(1, meterRegistry.get("password.hashing.duration").timer().count());
+		assertNotNull(meterRegistry.find("executor.queued").tag("name", "passwordHashing").gauge());
+	}
+
+	@Test
+	void encodeAsync_Failure_RejectsWhenQueueIsFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException exception) {
+					Thread.currentThread().interrupt();
+				}
+				return super.encode(rawPassword);
+			}
+		};
+		passwordHashingService = new PasswordHashingService(blockingEncoder, meterRegistry, 1, 1, Duration.ofSeconds(5));
+
+		CompletableFuture<String> running = passwordHashingService.encodeAsync("first");
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = passwordHashingService.encodeAsync("second");
+
+		ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+				() -> passwordHashingService.encodeAsync("third"));
+		assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+
+		release.countDown();
+		assertNotNull(running.get(5, TimeUnit.SECONDS));
+		assertNotNull(queued.get(5, TimeUnit.SECONDS));
+	}
+}
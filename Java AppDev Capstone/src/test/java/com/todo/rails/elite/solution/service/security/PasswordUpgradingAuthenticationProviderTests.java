@@ -0,0 +1,104 @@
+package com.todo.rails.elite.solution.service.security;
+
+import com.todo.rails.elite.solution.config.SecurityConfig;
+import com.todo.rails.elite.solution.model.User;
+import com.todo.rails.elite.solution.model.security.SecurityUser;
+import com.todo.rails.elite.solution.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PasswordUpgradingAuthenticationProviderTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(SecurityConfig.PASSWORD_ENCODER_STRENGTH);
+	private final UserService userService = mock(UserService.class);
+	private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+	private PasswordHashingService passwordHashingService;
+	private JpaUserDetailsPasswordService passwordUpgradeService;
+	private PasswordUpgradingAuthenticationProvider provider;
+
+	@BeforeEach
+	void setUp() {
+		passwordHashingService = new PasswordHashingService(passwordEncoder, meterRegistry, 1, 4, Duration.ofSeconds(5));
+		passwordUpgradeService = spy(new JpaUserDetailsPasswordService(userService, userDetailsService, passwordHashingService, meterRegistry));
+		provider = new PasswordUpgradingAuthenticationProvider(userDetailsService, passwordEncoder, passwordUpgradeService);
+	}
+
+	@AfterEach
+	void tearDown() {
+		passwordHashingService.destroy();
+	}
+
+	@Test
+	void authenticate_Success_UpgradesOutdatedHashInBackground() {
+		String outdatedHash = new BCryptPasswordEncoder(SecurityConfig.PASSWORD_ENCODER_STRENGTH + 1).encode("secret");
+		when(userDetailsService.loadUserByUsername("alice"))
+				.thenReturn(new SecurityUser(new User("alice", outdatedHash, "alice@example.com", "ROLE_USER")));
+		when(userService.updatePasswordHash(eq("alice"), eq(outdatedHash), anyString())).thenReturn(true);
+
+		Authentication result = provider.authenticate(new UsernamePasswordAuthenticationToken("alice", "secret"));
+
+		assertTrue(result.isAuthenticated());
+		ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+		verify(userService, timeout(5000)).updatePasswordHash(eq("alice"), eq(outdatedHash), newHash.capture());
+		assertEquals(SecurityConfig.PASSWORD_ENCODER_STRENGTH, JpaUserDetailsPasswordService.bcryptCost(newHash.getValue()));
+		assertTrue(passwordEncoder.matches("secret", newHash.getValue()));
+		verify(passwordUpgradeService).upgradeEncodingAsync(any(), eq("secret"));
+	}
+
+	@Test
+	void authenticate_Success_PrincipalCarriesNoPasswordHash() {
+		String currentHash = passwordEncoder.encode("secret");
+		SecurityUser loaded = new SecurityUser(new User("alice", currentHash, "alice@example.com", "ROLE_USER"));
+		when(userDetailsService.loadUserByUsername("alice")).thenReturn(loaded);
+
+		Authentication result = provider.authenticate(new UsernamePasswordAuthenticationToken("alice", "secret"));
+
+		SecurityUser principal = (SecurityUser) result.getPrincipal();
+		assertEquals("alice", principal.getUsername());
+		assertEquals(loaded.getAuthorities(), principal.getAuthorities());
+		assertNull(principal.getPassword());
+		assertEquals(currentHash, loaded.getPassword());
+	}
+
+	@Test
+	void upgradeEncodingAsync_CurrentCost_DoesNothing() throws Exception {
+		String currentHash = passwordEncoder.encode("secret");
+		SecurityUser user = new SecurityUser(new User("alice", currentHash, "alice@example.com", "ROLE_USER"));
+
+		assertFalse(passwordUpgradeService.upgradeEncodingAsync(user, "secret").get());
+		verifyNoInteractions(userService);
+	}
+
+	@Test
+	void upgradeEncodingAsync_ConcurrentChange_CountsConflict() throws Exception {
+		String outdatedHash = new BCryptPasswordEncoder(SecurityConfig.PASSWORD_ENCODER_STRENGTH + 1).encode("secret");
+		SecurityUser user = new SecurityUser(new User("alice", outdatedHash, "alice@example.com", "ROLE_USER"));
+		when(userService.updatePasswordHash(eq("alice"), eq(outdatedHash), anyString())).thenReturn(false);
+
+		assertFalse(passwordUpgradeService.upgradeEncodingAsync(user, "secret").get());
+		assertEquals(1, meterRegistry.get("auth.password.rehash").tag("result", "conflict").counter().count());
+	}
+
+	@Test
+	void bcryptCost_ParsesPrefix() {
+		assertEquals(12, JpaUserDetailsPasswordService.bcryptCost("$2a$12$abcdefghijklmnopqrstuv"));
+		assertEquals(-1, JpaUserDetailsPasswordService.bcryptCost("{noop}plain"));
+		assertEquals(-1, JpaUserDetailsPasswordService.bcryptCost(null));
+	}
+}